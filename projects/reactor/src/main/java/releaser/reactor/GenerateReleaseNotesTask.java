@@ -29,12 +29,12 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.json.JsonObject;
 import javax.json.JsonValue;
@@ -49,6 +49,7 @@ import com.jcabi.github.RepoCommit;
 import com.jcabi.github.RepoCommits;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import releaser.internal.git.CommitFilter;
 import releaser.internal.git.ProjectGitHandler;
 import releaser.internal.git.SimpleCommit;
 import releaser.internal.spring.Arguments;
@@ -173,20 +174,27 @@ public class GenerateReleaseNotesTask implements ProjectPostReleaseReleaserTask,
 		}
 		log.info("Will fetch the log for range {}..{}", fromVersionTag, toVersionTag);
 
-		// gather commits. we use tags in the format `vVERSION`
-		final List<SimpleCommit> revCommits = gitHandler.commitsBetween(args.project, fromVersionTag, toVersionTag);
-
-		// parse and link to issues if possible, determining type
-		for (SimpleCommit revCommit : revCommits) {
-			ChangelogEntry entry = parseChangeLogEntry(issuesClient, revCommit);
-
-			for (Type type : entry.types) {
-				entries.computeIfAbsent(type, t -> new ArrayList<>()).add(entry);
-			}
+		// walk commits once, lazily. we use tags in the format `vVERSION`
+		RepoCommits commitsClient = repo.commits();
+		Set<String> mentions = new LinkedHashSet<>();
+		try (Stream<SimpleCommit> revCommits = gitHandler.streamCommitsBetween(args.project, fromVersionTag,
+				toVersionTag, CommitFilter.all())) {
+			// parse and link to issues if possible, determining type
+			revCommits.forEach(revCommit -> {
+				ChangelogEntry entry = parseChangeLogEntry(issuesClient, revCommit);
+
+				for (Type type : entry.types) {
+					entries.computeIfAbsent(type, t -> new ArrayList<>()).add(entry);
+				}
+				String mention = commitToGithubMention(commitsClient, revCommit);
+				if (mention != null) {
+					mentions.add(mention);
+				}
+			});
 		}
 
 		// generate the notes
-		String notes = generateNotes(args, entries, extractContributorMentions(repo, revCommits));
+		String notes = generateNotes(args, entries, sortedMentions(mentions));
 
 		if (args.options.dryRun != null && args.options.dryRun) {
 			// print out
@@ -397,14 +405,11 @@ public class GenerateReleaseNotesTask implements ProjectPostReleaseReleaserTask,
 	}
 
 	/**
-	 * Extract at-mentions of contributors, given a list of commits (will fetch
-	 * contributor login from github). The list is deduplicated and sorted in
-	 * case-insensitive alphabetical order.
+	 * Sort the at-mentions of contributors gathered from the commits. The mentions are
+	 * already deduplicated, this only sorts them in case-insensitive alphabetical order.
 	 */
-	List<String> extractContributorMentions(Repo repo, List<SimpleCommit> revCommits) {
-		RepoCommits commitsClient = repo.commits();
-		return revCommits.stream().map(c -> commitToGithubMention(commitsClient, c)).filter(Objects::nonNull).distinct()
-				.sorted(String.CASE_INSENSITIVE_ORDER).collect(Collectors.toList());
+	List<String> sortedMentions(Set<String> mentions) {
+		return mentions.stream().sorted(String.CASE_INSENSITIVE_ORDER).collect(Collectors.toList());
 	}
 
 	/**
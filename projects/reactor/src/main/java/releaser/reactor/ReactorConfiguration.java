@@ -17,12 +17,11 @@
 package releaser.reactor;
 
 import com.jcabi.github.Github;
-import com.jcabi.github.RtGithub;
-import com.jcabi.http.wire.RetryWire;
 import org.cloudfoundry.operations.CloudFoundryOperations;
 import releaser.internal.Releaser;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.git.ProjectGitHandler;
+import releaser.internal.github.GithubClients;
 
 import org.springframework.beans.factory.BeanInitializationException;
 import org.springframework.beans.factory.annotation.Value;
@@ -54,7 +53,7 @@ class ReactorConfiguration {
 					+ "or put it as an env variable in [~/.bashrc] or "
 					+ "[~/.zshrc] e.g. [export RELEASER_GIT_OAUTH_TOKEN=...]");
 		}
-		return new RtGithub(new RtGithub(properties.getGit().getOauthToken()).entry().through(RetryWire.class));
+		return GithubClients.github(properties);
 	}
 
 	@Bean
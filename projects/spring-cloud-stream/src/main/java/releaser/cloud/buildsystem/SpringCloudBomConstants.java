@@ -16,6 +16,13 @@
 
 package releaser.cloud.buildsystem;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * @author Marcin Grzejszczak
  */
@@ -45,8 +52,34 @@ final class SpringCloudBomConstants {
 	static final String STREAM_STARTER_PARENT_ARTIFACT_ID = "spring-cloud-stream-starter-parent";
 	static final String STREAM_DOCS_ARTIFACT_ID = "spring-cloud-stream-docs";
 
+	/**
+	 * Artifacts that share a version, by every project name or artifact id that sets that
+	 * version. Setting a version of any of the keys sets it for all the artifacts of its
+	 * group, in the group's order.
+	 */
+	static final Map<String, Set<String>> VERSION_GROUPS = versionGroups();
+
 	private SpringCloudBomConstants() {
 		throw new IllegalStateException("Don't instantiate a utility class");
 	}
 
+	private static Map<String, Set<String>> versionGroups() {
+		Map<String, Set<String>> groups = new HashMap<>();
+		group(groups, SPRING_BOOT, BOOT_STARTER_ARTIFACT_ID, BOOT_STARTER_PARENT_ARTIFACT_ID,
+				BOOT_DEPENDENCIES_ARTIFACT_ID);
+		group(groups, BUILD_ARTIFACT_ID, CLOUD_DEPENDENCIES_PARENT_ARTIFACT_ID);
+		group(groups, CLOUD_DEPENDENCIES_ARTIFACT_ID, CLOUD_ARTIFACT_ID, CLOUD_RELEASE_ARTIFACT_ID,
+				CLOUD_STARTER_ARTIFACT_ID, CLOUD_STARTER_PARENT_ARTIFACT_ID);
+		group(groups, STREAM_DEPS_ARTIFACT_ID, STREAM_STARTER_ARTIFACT_ID, STREAM_STARTER_BUILD_ARTIFACT_ID,
+				STREAM_STARTER_PARENT_ARTIFACT_ID);
+		// the docs follow the stream version but aren't part of the stream group
+		groups.put(STREAM_DOCS_ARTIFACT_ID, groups.get(STREAM_DEPS_ARTIFACT_ID));
+		return Collections.unmodifiableMap(groups);
+	}
+
+	private static void group(Map<String, Set<String>> groups, String... artifactIds) {
+		Set<String> group = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(artifactIds)));
+		group.forEach(artifactId -> groups.put(artifactId, group));
+	}
+
 }
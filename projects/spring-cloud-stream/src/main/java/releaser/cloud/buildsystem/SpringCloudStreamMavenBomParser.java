@@ -33,21 +33,11 @@ import releaser.internal.tech.PomReader;
 import org.springframework.util.StringUtils;
 
 import static releaser.cloud.buildsystem.SpringCloudBomConstants.BOOT_DEPENDENCIES_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.BOOT_STARTER_ARTIFACT_ID;
 import static releaser.cloud.buildsystem.SpringCloudBomConstants.BOOT_STARTER_PARENT_ARTIFACT_ID;
 import static releaser.cloud.buildsystem.SpringCloudBomConstants.BUILD_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.CLOUD_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.CLOUD_DEPENDENCIES_ARTIFACT_ID;
 import static releaser.cloud.buildsystem.SpringCloudBomConstants.CLOUD_DEPENDENCIES_PARENT_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.CLOUD_RELEASE_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.CLOUD_STARTER_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.CLOUD_STARTER_PARENT_ARTIFACT_ID;
 import static releaser.cloud.buildsystem.SpringCloudBomConstants.SPRING_BOOT;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.STREAM_DEPS_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.STREAM_DOCS_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.STREAM_STARTER_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.STREAM_STARTER_BUILD_ARTIFACT_ID;
-import static releaser.cloud.buildsystem.SpringCloudBomConstants.STREAM_STARTER_PARENT_ARTIFACT_ID;
+import static releaser.cloud.buildsystem.SpringCloudBomConstants.VERSION_GROUPS;
 
 class SpringCloudStreamMavenBomParser implements CustomBomParser {
 
@@ -137,83 +127,12 @@ class SpringCloudStreamMavenBomParser implements CustomBomParser {
 	@Override
 	public Set<Project> setVersion(Set<Project> projects, String projectName, String version) {
 		Set<Project> newProjects = new LinkedHashSet<>(projects);
-		switch (projectName) {
-		case SPRING_BOOT:
-		case BOOT_STARTER_ARTIFACT_ID:
-		case BOOT_STARTER_PARENT_ARTIFACT_ID:
-		case BOOT_DEPENDENCIES_ARTIFACT_ID:
-			updateBootVersions(newProjects, version);
-			break;
-		case BUILD_ARTIFACT_ID:
-		case CLOUD_DEPENDENCIES_PARENT_ARTIFACT_ID:
-			updateBuildVersions(newProjects, version);
-			break;
-		case CLOUD_ARTIFACT_ID:
-		case CLOUD_DEPENDENCIES_ARTIFACT_ID:
-		case CLOUD_RELEASE_ARTIFACT_ID:
-		case CLOUD_STARTER_ARTIFACT_ID:
-		case CLOUD_STARTER_PARENT_ARTIFACT_ID:
-			updateSpringCloudVersions(newProjects, version);
-			break;
-		case STREAM_DEPS_ARTIFACT_ID:
-		case STREAM_STARTER_ARTIFACT_ID:
-		case STREAM_STARTER_BUILD_ARTIFACT_ID:
-		case STREAM_STARTER_PARENT_ARTIFACT_ID:
-		case STREAM_DOCS_ARTIFACT_ID:
-			updateStreamVersions(newProjects, version);
-			break;
+		Set<String> group = VERSION_GROUPS.get(projectName);
+		if (group != null) {
+			newProjects.removeIf(project -> group.contains(project.name));
+			group.forEach(artifactId -> newProjects.add(new Project(artifactId, version)));
 		}
 		return newProjects;
 	}
 
-	private void updateBootVersions(Set<Project> newProjects, String version) {
-		remove(newProjects, SPRING_BOOT);
-		remove(newProjects, BOOT_STARTER_ARTIFACT_ID);
-		remove(newProjects, BOOT_STARTER_PARENT_ARTIFACT_ID);
-		remove(newProjects, BOOT_DEPENDENCIES_ARTIFACT_ID);
-		add(newProjects, SPRING_BOOT, version);
-		add(newProjects, BOOT_STARTER_ARTIFACT_ID, version);
-		add(newProjects, BOOT_STARTER_PARENT_ARTIFACT_ID, version);
-		add(newProjects, BOOT_DEPENDENCIES_ARTIFACT_ID, version);
-	}
-
-	private void updateBuildVersions(Set<Project> newProjects, String version) {
-		remove(newProjects, BUILD_ARTIFACT_ID);
-		remove(newProjects, CLOUD_DEPENDENCIES_PARENT_ARTIFACT_ID);
-		add(newProjects, BUILD_ARTIFACT_ID, version);
-		add(newProjects, CLOUD_DEPENDENCIES_PARENT_ARTIFACT_ID, version);
-	}
-
-	private void updateSpringCloudVersions(Set<Project> newProjects, String version) {
-		remove(newProjects, CLOUD_DEPENDENCIES_ARTIFACT_ID);
-		remove(newProjects, CLOUD_ARTIFACT_ID);
-		remove(newProjects, CLOUD_RELEASE_ARTIFACT_ID);
-		remove(newProjects, CLOUD_STARTER_ARTIFACT_ID);
-		remove(newProjects, CLOUD_STARTER_PARENT_ARTIFACT_ID);
-		add(newProjects, CLOUD_DEPENDENCIES_ARTIFACT_ID, version);
-		add(newProjects, CLOUD_ARTIFACT_ID, version);
-		add(newProjects, CLOUD_RELEASE_ARTIFACT_ID, version);
-		add(newProjects, CLOUD_STARTER_ARTIFACT_ID, version);
-		add(newProjects, CLOUD_STARTER_PARENT_ARTIFACT_ID, version);
-	}
-
-	private void updateStreamVersions(Set<Project> newProjects, String version) {
-		remove(newProjects, STREAM_DEPS_ARTIFACT_ID);
-		remove(newProjects, STREAM_STARTER_ARTIFACT_ID);
-		remove(newProjects, STREAM_STARTER_BUILD_ARTIFACT_ID);
-		remove(newProjects, STREAM_STARTER_PARENT_ARTIFACT_ID);
-		add(newProjects, STREAM_DEPS_ARTIFACT_ID, version);
-		add(newProjects, STREAM_STARTER_ARTIFACT_ID, version);
-		add(newProjects, STREAM_STARTER_BUILD_ARTIFACT_ID, version);
-		add(newProjects, STREAM_STARTER_PARENT_ARTIFACT_ID, version);
-	}
-
-	private void add(Set<Project> projects, String key, String value) {
-		projects.add(new Project(key, value));
-	}
-
-	private void remove(Set<Project> projects, String expectedProjectName) {
-		projects.removeIf(project -> expectedProjectName.equals(project.name));
-	}
-
 }
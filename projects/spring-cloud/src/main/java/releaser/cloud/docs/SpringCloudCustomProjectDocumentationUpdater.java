@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,9 +67,7 @@ class SpringCloudCustomProjectDocumentationUpdater implements CustomProjectDocum
 			return clonedDocumentationProject;
 		}
 		log.debug("Cloning the doc project to [{}]", clonedDocumentationProject);
-		ProjectVersion releaseTrainProject = new ProjectVersion(
-				this.releaserProperties.getMetaRelease().getReleaseTrainProjectName(),
-				branchToReleaseVersion(bomBranch));
+		ProjectVersion releaseTrainProject = releaseTrainProject(bomBranch);
 		File currentReleaseFolder = new File(clonedDocumentationProject, currentFolder(releaseTrainProject));
 		// remove the old way
 		removeAFolderWithRedirection(currentReleaseFolder);
@@ -112,6 +112,23 @@ class SpringCloudCustomProjectDocumentationUpdater implements CustomProjectDocum
 		return pushChanges(clonedDocumentationProject);
 	}
 
+	@Override
+	public List<String> releaseTrainDocsPaths(ProjectVersion currentProject, Projects projects, String bomBranch) {
+		return Collections.singletonList(currentFolder(releaseTrainProject(bomBranch)));
+	}
+
+	@Override
+	public List<String> singleProjectDocsPaths(ProjectVersion currentProject, Projects projects) {
+		ProjectVersion currentProjectVersion = projects.containsProject(currentProject.projectName)
+				? projects.forName(currentProject.projectName) : currentProject;
+		return Collections.singletonList(currentFolder(currentProjectVersion));
+	}
+
+	private ProjectVersion releaseTrainProject(String bomBranch) {
+		return new ProjectVersion(this.releaserProperties.getMetaRelease().getReleaseTrainProjectName(),
+				branchToReleaseVersion(bomBranch));
+	}
+
 	private void removeAFolderWithRedirection(File currentReleaseFolder) {
 		if (!isSymbolinkLink(currentReleaseFolder)) {
 			FileSystemUtils.deleteRecursively(currentReleaseFolder);
@@ -20,6 +20,8 @@ import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.eclipse.jgit.api.errors.GitAPIException;
 import org.junit.Before;
@@ -32,6 +34,7 @@ import releaser.internal.ReleaserProperties;
 import releaser.internal.buildsystem.BomParser;
 import releaser.internal.buildsystem.MavenBomParserAccessor;
 import releaser.internal.buildsystem.VersionsFromBom;
+import releaser.internal.project.Project;
 
 import org.springframework.util.FileSystemUtils;
 
@@ -74,6 +77,25 @@ public class SpringCloudMavenBomParserTests {
 				.isInstanceOf(IllegalStateException.class).hasMessageContaining("Pom is not present");
 	}
 
+	@Test
+	public void should_set_the_version_for_all_artifacts_of_a_group() {
+		Set<Project> projects = new LinkedHashSet<>(Arrays.asList(new Project("spring-boot", "1.0.0.RELEASE"),
+				new Project("spring-cloud-stream-starter", "Chelsea.RELEASE"),
+				new Project("spring-cloud-sleuth", "1.0.0.RELEASE")));
+
+		Set<Project> updated = new SpringCloudMavenBomParser().setVersion(projects, "spring-cloud-stream-docs",
+				"Ditmars.RELEASE");
+
+		then(updated).containsExactly(new Project("spring-boot", "1.0.0.RELEASE"),
+				new Project("spring-cloud-sleuth", "1.0.0.RELEASE"),
+				new Project("spring-cloud-stream-dependencies", "Ditmars.RELEASE"),
+				new Project("spring-cloud-stream-starter", "Ditmars.RELEASE"),
+				new Project("spring-cloud-stream-starter-build", "Ditmars.RELEASE"),
+				new Project("spring-cloud-stream-starter-parent", "Ditmars.RELEASE"));
+		then(new SpringCloudMavenBomParser().setVersion(projects, "spring-cloud-sleuth", "2.0.0.RELEASE"))
+				.containsExactlyElementsOf(projects);
+	}
+
 	@Test
 	public void should_populate_sc_release_version() {
 		BomParser parser = MavenBomParserAccessor.bomParser(this.properties, new SpringCloudMavenBomParser());
@@ -173,6 +173,19 @@ public class SpringCloudCustomProjectDocumentationUpdaterTests {
 		BDDAssertions.then(Files.readSymbolicLink(current).toString()).isNotEqualTo("Angel.SR33");
 	}
 
+	@Test
+	public void should_check_out_only_the_current_version_links() {
+		ReleaserProperties properties = new ReleaserProperties();
+		SpringCloudCustomProjectDocumentationUpdater updater = new SpringCloudCustomProjectDocumentationUpdater(
+				new ProjectGitHandler(properties), properties);
+
+		BDDAssertions.then(updater.releaseTrainDocsPaths(new ProjectVersion("spring-cloud-release", "Finchley.SR33"),
+				projects(), "vFinchley.SR33")).containsExactly("current");
+		BDDAssertions.then(
+				updater.singleProjectDocsPaths(new ProjectVersion("spring-cloud-sleuth", "1.0.0.RELEASE"), projects()))
+				.containsExactly("spring-cloud-sleuth/current");
+	}
+
 	private File file(String relativePath) throws URISyntaxException {
 		return new File(SpringCloudCustomProjectDocumentationUpdater.class.getResource(relativePath).toURI());
 	}
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import releaser.internal.buildsystem.GradleUpdater;
 import releaser.internal.buildsystem.ProjectPomUpdater;
+import releaser.internal.buildsystem.StagedChanges;
 import releaser.internal.docs.DocumentationUpdater;
 import releaser.internal.git.ProjectGitHandler;
 import releaser.internal.github.ProjectGitHubHandler;
@@ -107,9 +108,13 @@ public class Releaser {
 		log.info("Will update the project with versions [{}]", versions);
 		ReleaserProperties updatedProperties = new ReleaserPropertiesUpdater().updateProperties(this.releaserProperties,
 				project);
-		this.projectPomUpdater.updateProjectFromReleaseTrain(project, versions, versionFromBom, assertSnapshots);
+		// poms and gradle.properties are stored together, once all of them got validated
+		StagedChanges changes = new StagedChanges();
+		this.projectPomUpdater.updateProjectFromReleaseTrain(project, versions, versionFromBom, assertSnapshots,
+				changes);
 		this.gradleUpdater.updateProjectFromReleaseTrain(updatedProperties, project, versions, versionFromBom,
-				assertSnapshots);
+				assertSnapshots, changes);
+		changes.flush();
 		ProjectVersion changedVersion = new ProjectVersion(project);
 		log.info("\n\nProject was successfully updated to [{}]", changedVersion.version);
 		return ExecutionResult.success();
@@ -124,7 +129,12 @@ public class Releaser {
 
 	public ExecutionResult commitAndPushTags(File project, ProjectVersion changedVersion) {
 		this.projectGitHandler.commitAndTagIfApplicable(project, changedVersion);
-		log.info("\nCommit was made and tag was pushed successfully");
+		if (this.releaserProperties.getGit().isBatchPush()) {
+			log.info("\nCommit was made successfully. Tag will be pushed at the end of the release");
+		}
+		else {
+			log.info("\nCommit was made and tag was pushed successfully");
+		}
 		return ExecutionResult.success();
 	}
 
@@ -180,11 +190,34 @@ public class Releaser {
 	}
 
 	public ExecutionResult pushCurrentBranch(File project) {
-		this.projectGitHandler.pushCurrentBranch(project);
-		log.info("\nSuccessfully pushed current branch");
+		this.projectGitHandler.pushReleasedBranch(project);
+		if (this.releaserProperties.getGit().isBatchPush()) {
+			log.info("\nCurrent branch will be pushed at the end of the release");
+		}
+		else {
+			log.info("\nSuccessfully pushed current branch");
+		}
 		return ExecutionResult.success();
 	}
 
+	public ExecutionResult pushPendingChanges() {
+		if (!this.projectGitHandler.hasPendingChanges()) {
+			return ExecutionResult.skipped();
+		}
+		try {
+			this.projectGitHandler.pushPendingChanges();
+			log.info("\nSuccessfully pushed all pending changes");
+			return ExecutionResult.success();
+		}
+		catch (Exception ex) {
+			return ExecutionResult.failure(ex);
+		}
+	}
+
+	public void discardPendingChanges() {
+		this.projectGitHandler.discardPendingChanges();
+	}
+
 	public ExecutionResult closeMilestone(ProjectVersion releaseVersion) {
 		if (releaseVersion.isSnapshot()) {
 			log.info("\nWon't close a milestone for a SNAPSHOT version");
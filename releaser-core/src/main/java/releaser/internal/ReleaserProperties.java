@@ -16,8 +16,10 @@
 
 package releaser.internal;
 
+import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -584,6 +586,70 @@ public class ReleaserProperties implements Serializable {
 		 */
 		private Map<String, List<String>> allTestSampleUrls = new HashMap<>();
 
+		/**
+		 * If set to {@code true}, commits and tags of released projects will not be
+		 * pushed as the release proceeds. They will be pushed at the end of the release,
+		 * with a single atomic push per repository, only if all release tasks were
+		 * successful.
+		 */
+		private boolean batchPush = false;
+
+		/**
+		 * Maximum number of concurrent clone, fetch and push operations against a single
+		 * remote host.
+		 */
+		private int connectionsPerHost = 4;
+
+		/**
+		 * Number of attempts of a clone, fetch or push that failed with a transport
+		 * error. Subsequent attempts are delayed with an exponential, jittered backoff.
+		 */
+		private int networkRetryAttempts = 3;
+
+		/**
+		 * If set to {@code true}, the documentation and release train wiki repositories
+		 * will be cloned without checking out the whole working tree. Only the paths that
+		 * get updated will be written to disk.
+		 */
+		private boolean sparseCheckout = true;
+
+		/**
+		 * Number of GitHub repositories whose milestones are fetched with a single
+		 * GraphQL query, e.g. when the closed milestone URLs of all projects of a release
+		 * train are needed. Set to {@code 0} to fetch them with a REST call per project.
+		 */
+		private int githubGraphqlBatchSize = 25;
+
+		/**
+		 * If set to {@code true}, responses of GitHub REST calls are stored on disk
+		 * together with their {@code ETag} and {@code Last-Modified} headers. Subsequent
+		 * calls for the same resource are sent as conditional requests, and a
+		 * {@code 304 Not Modified} response, which doesn't count against GitHub's rate
+		 * limit, is served from the disk.
+		 */
+		private boolean cacheGithubResponses = true;
+
+		/**
+		 * Folder in which the responses of GitHub REST calls are stored. Defaults to a
+		 * {@code releaser-github-cache} folder in the temporary directory.
+		 */
+		private String githubCacheDir;
+
+		/**
+		 * Maximum number of requests per second sent to GitHub by all the tasks of the
+		 * releaser. Requests that only read data are slowed down further, to the rate at
+		 * which the remaining rate limit budget reported by GitHub lasts until it gets
+		 * reset. Set to {@code 0} not to throttle the requests.
+		 */
+		private int githubRequestsPerSecond = 10;
+
+		/**
+		 * Fraction of GitHub's rate limit kept for release critical requests (e.g.
+		 * closing milestones or filing issues). Once the remaining budget drops to it,
+		 * requests that only read data wait until the budget gets reset.
+		 */
+		private double githubRateLimitReserve = 0.1;
+
 		public String getReleaseTrainBomUrl() {
 			return this.releaseTrainBomUrl;
 		}
@@ -816,6 +882,79 @@ public class ReleaserProperties implements Serializable {
 			this.orgName = orgName;
 		}
 
+		public boolean isBatchPush() {
+			return this.batchPush;
+		}
+
+		public void setBatchPush(boolean batchPush) {
+			this.batchPush = batchPush;
+		}
+
+		public int getConnectionsPerHost() {
+			return this.connectionsPerHost;
+		}
+
+		public void setConnectionsPerHost(int connectionsPerHost) {
+			this.connectionsPerHost = connectionsPerHost;
+		}
+
+		public int getNetworkRetryAttempts() {
+			return this.networkRetryAttempts;
+		}
+
+		public void setNetworkRetryAttempts(int networkRetryAttempts) {
+			this.networkRetryAttempts = networkRetryAttempts;
+		}
+
+		public boolean isSparseCheckout() {
+			return this.sparseCheckout;
+		}
+
+		public void setSparseCheckout(boolean sparseCheckout) {
+			this.sparseCheckout = sparseCheckout;
+		}
+
+		public int getGithubGraphqlBatchSize() {
+			return this.githubGraphqlBatchSize;
+		}
+
+		public void setGithubGraphqlBatchSize(int githubGraphqlBatchSize) {
+			this.githubGraphqlBatchSize = githubGraphqlBatchSize;
+		}
+
+		public boolean isCacheGithubResponses() {
+			return this.cacheGithubResponses;
+		}
+
+		public void setCacheGithubResponses(boolean cacheGithubResponses) {
+			this.cacheGithubResponses = cacheGithubResponses;
+		}
+
+		public String getGithubCacheDir() {
+			return StringUtils.hasText(this.githubCacheDir) ? this.githubCacheDir
+					: new File(System.getProperty("java.io.tmpdir"), "releaser-github-cache").getAbsolutePath();
+		}
+
+		public void setGithubCacheDir(String githubCacheDir) {
+			this.githubCacheDir = githubCacheDir;
+		}
+
+		public int getGithubRequestsPerSecond() {
+			return this.githubRequestsPerSecond;
+		}
+
+		public void setGithubRequestsPerSecond(int githubRequestsPerSecond) {
+			this.githubRequestsPerSecond = githubRequestsPerSecond;
+		}
+
+		public double getGithubRateLimitReserve() {
+			return this.githubRateLimitReserve;
+		}
+
+		public void setGithubRateLimitReserve(double githubRateLimitReserve) {
+			this.githubRateLimitReserve = githubRateLimitReserve;
+		}
+
 		@Override
 		public String toString() {
 			return "Git{" + "releaseTrainBomUrl='" + this.releaseTrainBomUrl + '\'' + ", documentationUrl='"
@@ -827,7 +966,13 @@ public class ReleaserProperties implements Serializable {
 					+ ", cloneDestinationDir='" + this.cloneDestinationDir + '\'' + ", fetchVersionsFromGit="
 					+ this.fetchVersionsFromGit + ", numberOfCheckedMilestones=" + this.numberOfCheckedMilestones
 					+ ", updateSpringGuides=" + this.updateSpringGuides + ", updateSpringProject="
-					+ this.updateSpringProject + ", sampleUrlsSize=" + this.allTestSampleUrls.size() + '}';
+					+ this.updateSpringProject + ", sampleUrlsSize=" + this.allTestSampleUrls.size() + ", batchPush="
+					+ this.batchPush + ", connectionsPerHost=" + this.connectionsPerHost + ", networkRetryAttempts="
+					+ this.networkRetryAttempts + ", sparseCheckout=" + this.sparseCheckout
+					+ ", githubGraphqlBatchSize=" + this.githubGraphqlBatchSize + ", cacheGithubResponses="
+					+ this.cacheGithubResponses + ", githubCacheDir='" + this.githubCacheDir + '\''
+					+ ", githubRequestsPerSecond=" + this.githubRequestsPerSecond + ", githubRateLimitReserve="
+					+ this.githubRateLimitReserve + '}';
 		}
 
 	}
@@ -866,6 +1011,34 @@ public class ReleaserProperties implements Serializable {
 		@SuppressWarnings("unchecked")
 		private List<String> ignoredPomRegex = Collections.singletonList("^.*\\.git/.*$");
 
+		/**
+		 * List of glob patterns of directories that will not be searched for poms,
+		 * matched against the directory name or its path relative to the project root.
+		 * Defaults to the git and the build output directories.
+		 */
+		private List<String> ignoredDirectories = new ArrayList<>(Arrays.asList(".git", "node_modules", "target"));
+
+		/**
+		 * If set to {@code true}, poms that didn't change since they were last updated
+		 * with the same versions are not processed again. Hashes of the updated poms are
+		 * kept in a manifest in the {@code .git} folder of the project.
+		 */
+		private boolean skipUnchangedPoms = true;
+
+		/**
+		 * If set to {@code true}, versions parsed from the release train BOM are stored
+		 * on disk, keyed by the checked out commit of the BOM and the parser
+		 * configuration. Running the releaser again against the same commit of the BOM
+		 * will not parse it again.
+		 */
+		private boolean cacheBomVersions = true;
+
+		/**
+		 * Folder in which the versions parsed from the release train BOM are stored.
+		 * Defaults to a {@code releaser-bom-versions} folder in the temporary directory.
+		 */
+		private String bomVersionsCacheDir;
+
 		public String getBranch() {
 			return this.branch;
 		}
@@ -882,6 +1055,39 @@ public class ReleaserProperties implements Serializable {
 			this.ignoredPomRegex = ignoredPomRegex;
 		}
 
+		public List<String> getIgnoredDirectories() {
+			return this.ignoredDirectories;
+		}
+
+		public void setIgnoredDirectories(List<String> ignoredDirectories) {
+			this.ignoredDirectories = ignoredDirectories;
+		}
+
+		public boolean isSkipUnchangedPoms() {
+			return this.skipUnchangedPoms;
+		}
+
+		public void setSkipUnchangedPoms(boolean skipUnchangedPoms) {
+			this.skipUnchangedPoms = skipUnchangedPoms;
+		}
+
+		public boolean isCacheBomVersions() {
+			return this.cacheBomVersions;
+		}
+
+		public void setCacheBomVersions(boolean cacheBomVersions) {
+			this.cacheBomVersions = cacheBomVersions;
+		}
+
+		public String getBomVersionsCacheDir() {
+			return StringUtils.hasText(this.bomVersionsCacheDir) ? this.bomVersionsCacheDir
+					: new File(System.getProperty("java.io.tmpdir"), "releaser-bom-versions").getAbsolutePath();
+		}
+
+		public void setBomVersionsCacheDir(String bomVersionsCacheDir) {
+			this.bomVersionsCacheDir = bomVersionsCacheDir;
+		}
+
 		public String getPomWithBootStarterParent() {
 			return this.pomWithBootStarterParent;
 		}
@@ -911,7 +1117,9 @@ public class ReleaserProperties implements Serializable {
 			return "Pom{" + "branch='" + this.branch + '\'' + ", pomWithBootStarterParent='"
 					+ this.pomWithBootStarterParent + '\'' + ", thisTrainBom='" + this.thisTrainBom + '\''
 					+ ", bomVersionPattern='" + this.bomVersionPattern + '\'' + ", ignoredPomRegex="
-					+ this.ignoredPomRegex + '}';
+					+ this.ignoredPomRegex + ", ignoredDirectories=" + this.ignoredDirectories + ", skipUnchangedPoms="
+					+ this.skipUnchangedPoms + ", cacheBomVersions=" + this.cacheBomVersions + ", bomVersionsCacheDir='"
+					+ this.bomVersionsCacheDir + '\'' + '}';
 		}
 
 	}
@@ -1217,6 +1425,15 @@ public class ReleaserProperties implements Serializable {
 		@SuppressWarnings("unchecked")
 		private List<String> ignoredGradleRegex = new ArrayList<>();
 
+		/**
+		 * List of glob patterns of directories that will not be searched for
+		 * {@code gradle.properties}, matched against the directory name or its path
+		 * relative to the project root. Defaults to the git, gradle cache and the build
+		 * output directories.
+		 */
+		private List<String> ignoredDirectories = new ArrayList<>(
+				Arrays.asList(".git", ".gradle", "node_modules", "build"));
+
 		/**
 		 * Command to be executed to build the project If present "{{version}}" will be
 		 * replaced by the provided version. "{{nextVersion}}" with the bumped snapshot
@@ -1341,12 +1558,20 @@ public class ReleaserProperties implements Serializable {
 			this.ignoredGradleRegex = ignoredGradleRegex;
 		}
 
+		public List<String> getIgnoredDirectories() {
+			return this.ignoredDirectories;
+		}
+
+		public void setIgnoredDirectories(List<String> ignoredDirectories) {
+			this.ignoredDirectories = ignoredDirectories;
+		}
+
 		@Override
 		public String toString() {
 			return new StringJoiner(", ", Gradle.class.getSimpleName() + "[", "]")
 					.add("gradlePropsSubstitution=" + gradlePropsSubstitution)
-					.add("ignoredGradleRegex=" + ignoredGradleRegex).add("buildCommand='" + buildCommand + "'")
-					.add("deployCommand='" + deployCommand + "'")
+					.add("ignoredGradleRegex=" + ignoredGradleRegex).add("ignoredDirectories=" + ignoredDirectories)
+					.add("buildCommand='" + buildCommand + "'").add("deployCommand='" + deployCommand + "'")
 					.add("deployGuidesCommand='" + deployGuidesCommand + "'")
 					.add("publishDocsCommand=" + publishDocsCommand)
 					.add("generateReleaseTrainDocsCommand='" + generateReleaseTrainDocsCommand + "'")
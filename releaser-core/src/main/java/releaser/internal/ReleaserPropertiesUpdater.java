@@ -22,13 +22,13 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import releaser.internal.tech.BoundedCache;
 
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.boot.context.properties.bind.Binder;
@@ -43,7 +43,7 @@ public class ReleaserPropertiesUpdater implements Closeable {
 
 	private static final Logger log = LoggerFactory.getLogger(ReleaserPropertiesUpdater.class);
 
-	private static final Map<File, ReleaserProperties> CACHE = new ConcurrentHashMap<>();
+	private static final BoundedCache<File, ReleaserProperties> CACHE = BoundedCache.of("releaser-properties");
 
 	public ReleaserProperties updateProperties(ReleaserProperties properties, File clonedProjectFromOrg) {
 		return CACHE.computeIfAbsent(clonedProjectFromOrg, file -> {
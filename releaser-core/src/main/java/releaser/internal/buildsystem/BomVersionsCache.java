@@ -0,0 +1,146 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import releaser.internal.ReleaserProperties;
+import releaser.internal.project.Project;
+
+/**
+ * Versions parsed from a release train BOM, stored on disk. An entry is keyed by the
+ * commit of the BOM and by everything in the configuration that influences the parsing,
+ * so a new JVM started against the same commit of the BOM doesn't have to parse it again.
+ * Since commits are immutable, entries never have to be invalidated.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class BomVersionsCache {
+
+	private static final Logger log = LoggerFactory.getLogger(BomVersionsCache.class);
+
+	/**
+	 * Changed when the way BOMs are parsed changes, so that old entries get ignored.
+	 */
+	private static final String FORMAT = "2";
+
+	private final Path directory;
+
+	BomVersionsCache(Path directory) {
+		this.directory = directory;
+	}
+
+	static BomVersionsCache of(ReleaserProperties properties) {
+		return new BomVersionsCache(Paths.get(properties.getPom().getBomVersionsCacheDir()));
+	}
+
+	/**
+	 * @param commit - commit of the BOM
+	 * @param properties - releaser properties
+	 * @param parsers - parsers of the BOM
+	 * @return key of the versions parsed from the commit with the given configuration
+	 */
+	static String key(String commit, ReleaserProperties properties, List<?> parsers) {
+		ReleaserProperties.Pom pom = properties.getPom();
+		String inputs = "format=" + FORMAT + "\ncommit=" + commit + "\nthisTrainBom=" + pom.getThisTrainBom()
+				+ "\nbomVersionPattern=" + pom.getBomVersionPattern() + "\npomWithBootStarterParent="
+				+ pom.getPomWithBootStarterParent() + "\nignoredPomRegex=" + pom.getIgnoredPomRegex()
+				+ "\ngradlePropsSubstitution=" + new TreeMap<>(properties.getGradle().getGradlePropsSubstitution())
+				+ "\nreleaseTrainProjectName=" + properties.getMetaRelease().getReleaseTrainProjectName()
+				+ "\nfixedVersions=" + new TreeMap<>(properties.getFixedVersions()) + "\nparsers="
+				+ parsers.stream().map(parser -> parser.getClass().getName()).collect(Collectors.joining(","));
+		return PomManifest.hash(inputs);
+	}
+
+	/**
+	 * @param key - key of the versions
+	 * @return stored versions, {@code null} if there are none
+	 */
+	Set<Project> read(String key) {
+		Path file = file(key);
+		if (!Files.exists(file)) {
+			return null;
+		}
+		Properties versions = new Properties();
+		try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			versions.load(reader);
+		}
+		catch (IOException | IllegalArgumentException e) {
+			log.warn("Failed to read the cached BOM versions [{}], the BOM will be parsed", file, e);
+			return null;
+		}
+		return versions.stringPropertyNames().stream().map(name -> new Project(name, versions.getProperty(name)))
+				.collect(Collectors.toSet());
+	}
+
+	/**
+	 * Stores the versions. Failing to store them only means that the BOM will be parsed
+	 * again, so errors are just logged.
+	 * @param key - key of the versions
+	 * @param projects - versions parsed from the BOM
+	 */
+	void store(String key, Set<Project> projects) {
+		Path file = file(key);
+		Properties versions = new Properties();
+		projects.forEach(project -> versions.setProperty(project.name, project.version));
+		try {
+			Files.createDirectories(this.directory);
+			Path staged = Files.createTempFile(this.directory, key, ".tmp");
+			try {
+				try (Writer writer = Files.newBufferedWriter(staged, StandardCharsets.UTF_8)) {
+					versions.store(writer, "Versions parsed from the release train BOM");
+				}
+				move(staged, file);
+			}
+			finally {
+				Files.deleteIfExists(staged);
+			}
+		}
+		catch (IOException e) {
+			log.warn("Failed to store the BOM versions in [{}]", file, e);
+		}
+	}
+
+	private void move(Path staged, Path file) throws IOException {
+		try {
+			Files.move(staged, file, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private Path file(String key) {
+		return this.directory.resolve(key + ".properties");
+	}
+
+}
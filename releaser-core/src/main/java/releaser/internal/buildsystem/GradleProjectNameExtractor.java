@@ -36,8 +36,28 @@ class GradleProjectNameExtractor {
 				projectName = matcher.group(1);
 			}
 		}
-		projectName = projectName.replaceAll("([A-Z])", "-$1").toLowerCase();
-		return projectName;
+		return kebabCase(projectName);
+	}
+
+	/**
+	 * Prefixes every upper case letter with a dash and lower cases it (e.g.
+	 * {@code springBoot} becomes {@code spring-boot}), in a single pass over the name.
+	 */
+	private String kebabCase(String name) {
+		StringBuilder result = null;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (c >= 'A' && c <= 'Z') {
+				if (result == null) {
+					result = new StringBuilder(name.length() + 4).append(name, 0, i);
+				}
+				result.append('-').append(c);
+			}
+			else if (result != null) {
+				result.append(c);
+			}
+		}
+		return (result != null ? result.toString() : name).toLowerCase();
 	}
 
 }
@@ -17,18 +17,18 @@
 package releaser.internal.buildsystem;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.StringReader;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.Scanner;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -57,14 +57,33 @@ public class GradleUpdater {
 	 */
 	public void updateProjectFromReleaseTrain(ReleaserProperties properties, File projectRoot, Projects projects,
 			ProjectVersion versionFromBom, boolean assertVersions) {
-		processAllGradleProps(properties, projectRoot, projects, versionFromBom, assertVersions);
+		StagedChanges changes = new StagedChanges();
+		updateProjectFromReleaseTrain(properties, projectRoot, projects, versionFromBom, assertVersions, changes);
+		// all the files got updated and validated in memory, now they can be stored
+		changes.flush();
+	}
+
+	/**
+	 * Updates {@code gradle.properties} like
+	 * {@link #updateProjectFromReleaseTrain(ReleaserProperties, File, Projects, ProjectVersion, boolean)}
+	 * but only stages the changes. They get stored when the changes are flushed.
+	 * @param projectRoot - root folder with project to update
+	 * @param projects - versions of projects used to update poms
+	 * @param versionFromBom - version for the project from Spring Cloud Release
+	 * @param assertVersions - should snapshots / milestone / rc presence be asserted
+	 * @param changes - changes to which the new contents of the files are added
+	 */
+	public void updateProjectFromReleaseTrain(ReleaserProperties properties, File projectRoot, Projects projects,
+			ProjectVersion versionFromBom, boolean assertVersions, StagedChanges changes) {
+		processAllGradleProps(properties, projectRoot, projects, versionFromBom, assertVersions, changes);
 	}
 
 	private void processAllGradleProps(ReleaserProperties properties, File projectRoot, Projects projects,
-			ProjectVersion versionFromBom, boolean assertVersions) {
+			ProjectVersion versionFromBom, boolean assertVersions, StagedChanges changes) {
+		GradlePropertiesWalker walker = new GradlePropertiesWalker(properties, projectRoot, projects, versionFromBom,
+				assertVersions, changes);
 		try {
-			Files.walkFileTree(projectRoot.toPath(),
-					new GradlePropertiesWalker(properties, projects, versionFromBom, assertVersions));
+			Files.walkFileTree(projectRoot.toPath(), walker);
 		}
 		catch (IOException e) {
 			throw new IllegalStateException(e);
@@ -85,18 +104,42 @@ public class GradleUpdater {
 
 		private final List<Pattern> unacceptableVersionPatterns;
 
+		private final UnacceptableVersionScanner unacceptableVersionScanner;
+
+		private final Pattern ignoredGradlePattern;
+
+		private final IgnoredDirectories ignoredDirectories;
+
 		private final GradleProjectNameExtractor extractor = new GradleProjectNameExtractor();
 
-		private GradlePropertiesWalker(ReleaserProperties properties, Projects projects, ProjectVersion versionFromBom,
-				boolean assertVersions) {
+		private final StagedChanges changes;
+
+		private GradlePropertiesWalker(ReleaserProperties properties, File projectRoot, Projects projects,
+				ProjectVersion versionFromBom, boolean assertVersions, StagedChanges changes) {
 			this.properties = properties;
+			this.changes = changes;
 			this.projects = projects;
 			List<Pattern> unacceptableVersionPatterns = versionFromBom.unacceptableVersionPatterns();
 			this.unacceptableVersionPatterns = unacceptableVersionPatterns;
+			this.unacceptableVersionScanner = new UnacceptableVersionScanner(unacceptableVersionPatterns,
+					Collections.emptyList(), null);
+			this.ignoredGradlePattern = UnacceptableVersionScanner
+					.anyOf(properties.getGradle().getIgnoredGradleRegex());
+			this.ignoredDirectories = new IgnoredDirectories(projectRoot.toPath(),
+					properties.getGradle().getIgnoredDirectories());
 			this.skipVersionAssert = !assertVersions || unacceptableVersionPatterns.isEmpty();
 			this.assertVersions = assertVersions;
 		}
 
+		@Override
+		public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+			if (this.ignoredDirectories.isIgnored(dir)) {
+				log.debug("Skipping directory [{}] since it's on a list of directories to ignore", dir);
+				return FileVisitResult.SKIP_SUBTREE;
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
 		@Override
 		public FileVisitResult visitFile(Path path, BasicFileAttributes attr) {
 			File file = path.toFile();
@@ -107,10 +150,10 @@ public class GradleUpdater {
 				}
 				String parentName = file.getParentFile().getName();
 				log.info("Will process the file [{}] and update its gradle properties", file);
-				final String fileContents = asString(path);
-				final AtomicReference<String> changedString = new AtomicReference<>(fileContents);
-				Properties props = loadProps(file);
-				final Map<String, String> substitution = this.properties.getGradle().getGradlePropsSubstitution();
+				String fileContents = asString(path);
+				Properties props = loadProps(fileContents);
+				Map<String, String> substitution = this.properties.getGradle().getGradlePropsSubstitution();
+				Map<String, String> newValues = new HashMap<>();
 				props.forEach((key, value1) -> {
 					String projectName = projectName(parentName, substitution, key);
 					if (!this.projects.containsProject(projectName)) {
@@ -122,15 +165,51 @@ public class GradleUpdater {
 					ProjectVersion value = this.projects.forName(projectName);
 					if (!value.version.equalsIgnoreCase(value1.toString())) {
 						log.info("Replacing [{}->{}] with [{}->{}]", key, value1, key, value);
-						changedString.set(changedString.get().replace(key + "=" + value1, key + "=" + value));
+						newValues.put(key.toString(), value.version);
 					}
 				});
-				storeString(path, changedString.get());
-				assertNoSnapshotsArePresent(path);
+				String changedString = replaceValues(fileContents, props, newValues);
+				if (changedString.equals(fileContents)) {
+					log.info("No changes in the file [{}], will not store it", file);
+				}
+				else {
+					this.changes.stage(path, changedString);
+				}
+				assertNoSnapshotsArePresent(path, changedString);
 			}
 			return FileVisitResult.CONTINUE;
 		}
 
+		/**
+		 * Goes through the lines once and replaces the values of the {@code key=value}
+		 * lines whose keys have new values.
+		 */
+		private String replaceValues(String contents, Properties props, Map<String, String> newValues) {
+			if (newValues.isEmpty()) {
+				return contents;
+			}
+			StringBuilder changed = new StringBuilder(contents.length());
+			int lineStart = 0;
+			while (lineStart < contents.length()) {
+				int lineEnd = contents.indexOf('\n', lineStart);
+				lineEnd = lineEnd == -1 ? contents.length() : lineEnd + 1;
+				String line = contents.substring(lineStart, lineEnd);
+				int valueEnd = line.endsWith("\r\n") ? line.length() - 2
+						: line.endsWith("\n") ? line.length() - 1 : line.length();
+				int separator = line.indexOf('=');
+				if (separator > -1 && separator < valueEnd) {
+					String key = line.substring(0, separator).trim();
+					String newValue = newValues.get(key);
+					if (newValue != null && line.substring(separator + 1, valueEnd).equals(props.getProperty(key))) {
+						line = line.substring(0, separator + 1) + newValue + line.substring(valueEnd);
+					}
+				}
+				changed.append(line);
+				lineStart = lineEnd;
+			}
+			return changed.toString();
+		}
+
 		private String projectName(String parentName, Map<String, String> substitution, Object key) {
 			// version -> current project version
 			if (key.equals("version")) {
@@ -139,38 +218,28 @@ public class GradleUpdater {
 			return this.extractor.projectName(substitution, key);
 		}
 
-		private void assertNoSnapshotsArePresent(Path path) {
+		private void assertNoSnapshotsArePresent(Path path, String contents) {
 			if (this.assertVersions && !this.skipVersionAssert) {
 				log.debug(
 						"Update should check if no wrong versions remained in the gradle prop. List of wrong patterns: {}",
 						this.unacceptableVersionPatterns.stream().map(Pattern::pattern).collect(Collectors.toList()));
-				Scanner scanner = new Scanner(asString(path));
-				int lineNumber = 0;
-				while (scanner.hasNextLine()) {
-					String line = scanner.nextLine();
-					lineNumber++;
-					Pattern matchingPattern = this.unacceptableVersionPatterns.stream()
-							.filter(pattern -> pattern.matcher(line).matches()).findFirst().orElse(null);
-					if (matchingPattern != null) {
-						throw new IllegalStateException(
-								"The file [" + path + "] matches the [ " + matchingPattern.pattern()
-										+ "] pattern in line number [" + lineNumber + "]\n\n" + line);
-					}
-				}
+				this.unacceptableVersionScanner.firstMatch(contents).ifPresent(match -> {
+					throw new IllegalStateException("The file [" + path + "] matches the [ " + match.pattern.pattern()
+							+ "] pattern in line number [" + match.lineNumber + "]\n\n" + match.line);
+				});
 				log.info("No invalid versions remained in the gradle properties");
 			}
 		}
 
 		private boolean pathIgnored(File file) {
-			String path = file.getPath();
-			return this.assertVersions
-					&& this.properties.getGradle().getIgnoredGradleRegex().stream().anyMatch(path::matches);
+			return this.assertVersions && this.ignoredGradlePattern != null
+					&& this.ignoredGradlePattern.matcher(file.getPath()).matches();
 		}
 
-		private Properties loadProps(File file) {
+		private Properties loadProps(String contents) {
 			Properties props = new Properties();
 			try {
-				props.load(new FileInputStream(file));
+				props.load(new StringReader(contents));
 			}
 			catch (IOException e) {
 				throw new IllegalStateException(e);
@@ -187,15 +256,6 @@ public class GradleUpdater {
 			}
 		}
 
-		private void storeString(Path path, String content) {
-			try {
-				Files.write(path, content.getBytes());
-			}
-			catch (IOException e) {
-				throw new IllegalStateException(e);
-			}
-		}
-
 	}
 
 }
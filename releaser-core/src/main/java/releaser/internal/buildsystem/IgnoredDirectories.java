@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Directories that should not be walked into when looking for build files. The glob
+ * patterns are compiled once and matched against the directory name or against its path
+ * relative to the walked root, so both {@code target} and {@code docs/src/main/asciidoc}
+ * can be used.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class IgnoredDirectories {
+
+	private final Path root;
+
+	private final List<PathMatcher> matchers;
+
+	IgnoredDirectories(Path root, List<String> globs) {
+		this.root = root;
+		this.matchers = globs.stream().map(glob -> FileSystems.getDefault().getPathMatcher("glob:" + glob))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * @param directory - visited directory
+	 * @return {@code true} if the directory and its subdirectories should be skipped. The
+	 * root is never skipped.
+	 */
+	boolean isIgnored(Path directory) {
+		if (this.matchers.isEmpty() || directory.equals(this.root)) {
+			return false;
+		}
+		Path name = directory.getFileName();
+		Path relativePath = this.root.relativize(directory);
+		return this.matchers.stream()
+				.anyMatch(matcher -> (name != null && matcher.matches(name)) || matcher.matches(relativePath));
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hashes of poms as they were after they got successfully updated, together with the hash
+ * of the inputs of that update (versions, checked version, root project). A pom whose
+ * contents and inputs match the manifest would not change when updated again, so it
+ * doesn't have to be parsed at all. The manifest is kept per working copy, in the
+ * {@code .git} folder (or in {@code target} if there's no {@code .git} folder).
+ *
+ * @author Marcin Grzejszczak
+ */
+final class PomManifest {
+
+	private static final Logger log = LoggerFactory.getLogger(PomManifest.class);
+
+	private static final String MANIFEST_FILE = "releaser-pom-manifest.properties";
+
+	/**
+	 * Changed when the way poms are updated changes, so that old manifests get ignored.
+	 */
+	private static final String FORMAT = "1";
+
+	private static final PomManifest DISABLED = new PomManifest(null, null, "", new Properties());
+
+	private final Path projectRoot;
+
+	private final Path location;
+
+	private final String inputsHash;
+
+	private final Properties entries;
+
+	private PomManifest(Path projectRoot, Path location, String inputsHash, Properties entries) {
+		this.projectRoot = projectRoot;
+		this.location = location;
+		this.inputsHash = inputsHash;
+		this.entries = entries;
+	}
+
+	/**
+	 * @return manifest that never reports poms as up to date and doesn't store anything
+	 */
+	static PomManifest disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * @param projectRoot - root of the working copy
+	 * @param inputs - description of everything, apart from the pom itself, that
+	 * influences the result of updating a pom
+	 * @return the manifest stored for the project
+	 */
+	static PomManifest load(File projectRoot, String inputs) {
+		File git = new File(projectRoot, ".git");
+		Path location = (git.isDirectory() ? git : new File(projectRoot, "target")).toPath().resolve(MANIFEST_FILE);
+		Properties entries = new Properties();
+		if (Files.exists(location)) {
+			try (Reader reader = Files.newBufferedReader(location, StandardCharsets.UTF_8)) {
+				entries.load(reader);
+			}
+			catch (IOException | IllegalArgumentException e) {
+				log.warn("Failed to read the pom manifest [{}], all poms will be processed", location, e);
+				entries.clear();
+			}
+		}
+		return new PomManifest(projectRoot.toPath(), location, hash(FORMAT + "\n" + inputs), entries);
+	}
+
+	/**
+	 * @param pom - pom to check
+	 * @param contentHash - hash of the current contents of the pom
+	 * @return {@code true} if the pom was already updated with the same inputs and didn't
+	 * change since
+	 */
+	boolean isUpToDate(Path pom, String contentHash) {
+		if (this.location == null) {
+			return false;
+		}
+		return entry(contentHash).equals(this.entries.getProperty(key(pom)));
+	}
+
+	/**
+	 * Replaces the manifest with the given poms.
+	 * @param contentHashes - hashes of the contents of the poms after the update
+	 */
+	void store(Map<Path, String> contentHashes) {
+		if (this.location == null) {
+			return;
+		}
+		Properties entries = new Properties();
+		contentHashes.forEach((pom, contentHash) -> entries.setProperty(key(pom), entry(contentHash)));
+		try {
+			Files.createDirectories(this.location.getParent());
+			try (Writer writer = Files.newBufferedWriter(this.location, StandardCharsets.UTF_8)) {
+				entries.store(writer, "Hashes of poms updated by the releaser");
+			}
+			this.entries.clear();
+			this.entries.putAll(entries);
+		}
+		catch (IOException e) {
+			log.warn("Failed to store the pom manifest [{}]", this.location, e);
+		}
+	}
+
+	private String key(Path pom) {
+		return this.projectRoot.relativize(pom).toString().replace(File.separatorChar, '/');
+	}
+
+	private String entry(String contentHash) {
+		return this.inputsHash + ":" + contentHash;
+	}
+
+	static String hash(String text) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+			StringBuilder hex = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+}
@@ -19,6 +19,7 @@ package releaser.internal.buildsystem;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -141,11 +142,33 @@ class PomUpdater {
 	 * @return updated model
 	 */
 	ModelWrapper updateModel(ModelWrapper rootPom, File pom, VersionsFromBom versionsFromBom) {
-		Model model = PomReader.readPom(pom);
+		// the file is read once, the contents are reused to rewrite it
+		return updateModel(rootPom, pom, readXmlFile(pom), versionsFromBom);
+	}
+
+	/**
+	 * Updates the root / child module model from already read contents of the pom.
+	 * @param rootPom - root project model
+	 * @param pom - file with the pom
+	 * @param content - contents of the pom
+	 * @param versionsFromBom - versions to update
+	 * @return updated model
+	 */
+	ModelWrapper updateModel(ModelWrapper rootPom, File pom, StringBuilder content, VersionsFromBom versionsFromBom) {
+		Model model = PomReader.readPom(pom, content.toString());
 		List<VersionChange> sourceChanges = new ArrayList<>();
 		sourceChanges = updateParentIfPossible(rootPom, versionsFromBom, model, sourceChanges);
 		sourceChanges = updateVersionIfPossible(rootPom, versionsFromBom, model, sourceChanges);
-		return new ModelWrapper(model, sourceChanges, versionsFromBom, pom);
+		return new ModelWrapper(model, sourceChanges, versionsFromBom, pom, content);
+	}
+
+	StringBuilder readXmlFile(File pom) {
+		try {
+			return PomHelper.readXmlFile(pom);
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to read file: " + pom.getAbsolutePath(), e);
+		}
 	}
 
 	/**
@@ -162,6 +185,19 @@ class PomUpdater {
 		return pom;
 	}
 
+	/**
+	 * Applies the changes from {@link ModelWrapper} to the contents of the pom without
+	 * storing them.
+	 * @return - the new contents of the pom or {@code null} if it didn't change
+	 */
+	String stagePomIfDirty(ModelWrapper updatedPomModel, VersionsFromBom versionsFromBom, File pom) {
+		if (!updatedPomModel.isDirty()) {
+			return null;
+		}
+		log.debug("There were changes in the pom so its new contents will be staged");
+		return this.pomWriter.stage(updatedPomModel, versionsFromBom, pom);
+	}
+
 	private List<VersionChange> updateParentIfPossible(ModelWrapper wrapper, VersionsFromBom versionsFromBom,
 			Model model, List<VersionChange> sourceChanges) {
 		String rootProjectName = wrapper.projectName();
@@ -251,23 +287,33 @@ class ModelWrapper {
 
 	final File rootFile;
 
-	ModelWrapper(Model model, List<VersionChange> sourceChanges, VersionsFromBom versionsFromBom, File rootFile) {
+	/**
+	 * Current contents of the pom file, {@code null} if the model wasn't read from a
+	 * file.
+	 */
+	final StringBuilder content;
+
+	ModelWrapper(Model model, List<VersionChange> sourceChanges, VersionsFromBom versionsFromBom, File rootFile,
+			StringBuilder content) {
 		this.model = model;
 		this.versionsFromBom = versionsFromBom;
 		this.sourceChanges.addAll(sourceChanges);
 		this.rootFile = rootFile;
+		this.content = content;
 	}
 
 	ModelWrapper(Model model, File rootFile) {
 		this.model = model;
 		this.versionsFromBom = VersionsFromBom.EMPTY_VERSION;
 		this.rootFile = rootFile;
+		this.content = null;
 	}
 
 	ModelWrapper(Model model) {
 		this.model = model;
 		this.versionsFromBom = VersionsFromBom.EMPTY_VERSION;
 		this.rootFile = null;
+		this.content = null;
 	}
 
 	String projectName() {
@@ -292,9 +338,30 @@ class PomWriter {
 	private static final Logger log = LoggerFactory.getLogger(PomWriter.class);
 
 	void write(ModelWrapper wrapper, VersionsFromBom versionsFromBom, File pom) {
+		String updated = stage(wrapper, versionsFromBom, pom);
+		if (updated == null) {
+			return;
+		}
+		try (BufferedWriter bw = new BufferedWriter(new FileWriter(pom))) {
+			bw.write(updated);
+			log.debug("Flushed changes to the pom file [{}]", pom);
+		}
+		catch (IOException e) {
+			log.error("Exception occurred while trying to apply changes to the POM", e);
+		}
+	}
+
+	/**
+	 * @return the changed contents of the pom or {@code null} if applying the changes
+	 * didn't modify it
+	 */
+	String stage(ModelWrapper wrapper, VersionsFromBom versionsFromBom, File pom) {
 		try {
 			VersionChangerFactory versionChangerFactory = new VersionChangerFactory();
-			StringBuilder input = PomHelper.readXmlFile(pom);
+			// work on a copy, so that the contents can be compared after the changes
+			StringBuilder input = wrapper.content != null ? new StringBuilder(wrapper.content)
+					: PomHelper.readXmlFile(pom);
+			String original = wrapper.content != null ? wrapper.content.toString() : input.toString();
 			ModifiedPomXMLEventReader parsedPom = newModifiedPomXER(input);
 			versionChangerFactory.setPom(parsedPom);
 			LoggerToMavenLog loggerToMavenLog = new LoggerToMavenLog(PomWriter.log);
@@ -307,13 +374,20 @@ class PomWriter {
 			}
 			log.debug("Applying properties changes to the pom [{}]", pom);
 			new PropertyVersionChanger(wrapper, versionsFromBom, parsedPom, loggerToMavenLog).apply(null);
-			try (BufferedWriter bw = new BufferedWriter(new FileWriter(pom))) {
-				bw.write(input.toString());
+			String updated = input.toString();
+			if (updated.equals(original)) {
+				log.debug("Applying the changes didn't modify the pom file [{}]", pom);
+				return null;
 			}
-			log.debug("Flushed changes to the pom file [{}]", pom);
+			if (wrapper.content != null) {
+				wrapper.content.setLength(0);
+				wrapper.content.append(updated);
+			}
+			return updated;
 		}
 		catch (Exception e) {
 			log.error("Exception occurred while trying to apply changes to the POM", e);
+			return null;
 		}
 	}
 
@@ -360,15 +434,10 @@ class PropertyVersionChanger extends AbstractVersionChanger {
 
 	@Override
 	public void apply(final VersionChange versionChange) {
-		this.versionsFromBom.projects.stream().filter(project -> {
-			Properties properties = getModel().getProperties();
-			String projectVersionKey = propertyName(project);
-			if (!properties.containsKey(projectVersionKey)) {
-				return false;
-			}
-			String version = properties.getProperty(projectVersionKey);
-			return !version.equals(project.version);
-		}).forEach(this.propertyStorer::setPropertyVersionIfApplicable);
+		Properties properties = getModel().getProperties();
+		this.versionsFromBom.projectsWithVersionProperty(properties).stream()
+				.filter(project -> !properties.getProperty(propertyName(project)).equals(project.version))
+				.forEach(this.propertyStorer::setPropertyVersionIfApplicable);
 	}
 
 	private String propertyName(Project project) {
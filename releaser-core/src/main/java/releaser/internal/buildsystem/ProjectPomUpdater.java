@@ -24,12 +24,17 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Scanner;
+import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -40,6 +45,8 @@ import releaser.internal.git.ProjectGitHandler;
 import releaser.internal.project.Project;
 import releaser.internal.project.ProjectVersion;
 import releaser.internal.project.Projects;
+import releaser.internal.tech.BoundedCache;
+import releaser.internal.tech.PomReader;
 
 /**
  * @author Marcin Grzejszczak
@@ -56,7 +63,19 @@ public class ProjectPomUpdater implements Closeable {
 
 	private static final boolean UPDATE_FIXED_VERSIONS = true;
 
-	private static final Map<String, VersionsFromBom> CACHE = new ConcurrentHashMap<>();
+	private static final BoundedCache<String, VersionsFromBom> CACHE = BoundedCache.of("versions-from-bom");
+
+	/**
+	 * Pool in which the poms of a project get updated. Parsing and rewriting the poms is
+	 * CPU bound, so the pool is sized to the number of processors. Its threads are
+	 * daemons, so the pool never keeps the JVM alive.
+	 */
+	private static final ForkJoinPool POOL = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+		ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		thread.setDaemon(true);
+		thread.setName("releaser-pom-updater-" + thread.getPoolIndex());
+		return thread;
+	}, null, false);
 
 	private final ProjectGitHandler gitRepo;
 
@@ -104,10 +123,48 @@ public class ProjectPomUpdater implements Closeable {
 		return CACHE.computeIfAbsent(branch, s -> {
 			File clonedBom = this.gitRepo.cloneReleaseTrainProject();
 			this.gitRepo.checkout(clonedBom, branch);
-			return compositeBomParser().versionsFromBom(clonedBom);
+			return versionsFromBom(clonedBom);
 		});
 	}
 
+	private VersionsFromBom versionsFromBom(File clonedBom) {
+		CompositeBomParser parser = compositeBomParser();
+		Optional<String> commit = headCommit(clonedBom);
+		if (!commit.isPresent()) {
+			return parser.versionsFromBom(clonedBom);
+		}
+		List<Object> parsers = new ArrayList<>(this.bomParsers);
+		parsers.addAll(parser.customBomParsers());
+		String key = BomVersionsCache.key(commit.get(), this.properties, parsers);
+		BomVersionsCache cache = BomVersionsCache.of(this.properties);
+		Set<Project> cached = cache.read(key);
+		if (cached != null) {
+			log.info("Versions from the BOM at commit [{}] were already parsed, will reuse them", commit.get());
+			VersionsFromBom versionsFromBom = new VersionsFromBom(this.properties, CustomBomParser.NO_OP);
+			cached.forEach(project -> versionsFromBom.add(project.name, project.version));
+			return new VersionsFromBomBuilder().releaserProperties(this.properties).parsers(parser.customBomParsers())
+					.projects(versionsFromBom).merged();
+		}
+		VersionsFromBom versionsFromBom = parser.versionsFromBom(clonedBom);
+		if (versionsFromBom != VersionsFromBom.EMPTY_VERSION) {
+			cache.store(key, versionsFromBom.projects());
+		}
+		return versionsFromBom;
+	}
+
+	private Optional<String> headCommit(File clonedBom) {
+		if (!this.properties.getPom().isCacheBomVersions()) {
+			return Optional.empty();
+		}
+		try {
+			return this.gitRepo.headCommit(clonedBom);
+		}
+		catch (IllegalStateException e) {
+			log.debug("Failed to resolve the commit of the BOM [{}], will not cache its versions", clonedBom, e);
+			return Optional.empty();
+		}
+	}
+
 	private CompositeBomParser compositeBomParser() {
 		return new CompositeBomParser(this.bomParsers);
 	}
@@ -137,39 +194,90 @@ public class ProjectPomUpdater implements Closeable {
 	 */
 	public void updateProjectFromReleaseTrain(File projectRoot, Projects projects,
 			ProjectVersion versionFromReleaseTrain, boolean assertVersions) {
+		StagedChanges changes = new StagedChanges();
+		updateProjectFromReleaseTrain(projectRoot, projects, versionFromReleaseTrain, assertVersions, changes);
+		changes.flush();
+	}
+
+	/**
+	 * Updates the poms like
+	 * {@link #updateProjectFromReleaseTrain(File, Projects, ProjectVersion, boolean)} but
+	 * only stages the changes. They get stored when the changes are flushed.
+	 * @param projectRoot - root folder with project to update
+	 * @param projects - versions of projects used to update poms
+	 * @param versionFromReleaseTrain - version for the built project taken from release
+	 * train (e.g. Spring Cloud Release project)
+	 * @param assertVersions - should version assertion take place
+	 * @param changes - changes to which the new contents of the poms are added
+	 */
+	public void updateProjectFromReleaseTrain(File projectRoot, Projects projects,
+			ProjectVersion versionFromReleaseTrain, boolean assertVersions, StagedChanges changes) {
 		VersionsFromBom versionsFromBom = new VersionsFromBomBuilder().thisProjectRoot(projectRoot)
 				.releaserProperties(this.properties).projects(projects.asProjects()).merged();
 		if (!this.pomUpdater.shouldProjectBeUpdated(projectRoot, versionsFromBom)) {
 			log.debug("Skipping project updating");
 			return;
 		}
-		updatePoms(projectRoot, versionsFromBom, versionFromReleaseTrain, assertVersions);
+		updatePoms(projectRoot, versionsFromBom, versionFromReleaseTrain, assertVersions, changes);
 	}
 
 	private void updatePoms(File projectRoot, VersionsFromBom projects, ProjectVersion versionFromScRelease,
-			boolean assertVersions) {
+			boolean assertVersions, StagedChanges changes) {
 		File rootPom = new File(projectRoot, "pom.xml");
 		if (!rootPom.exists()) {
 			log.info("No pom.xml present, skipping!");
 			return;
 		}
 		ModelWrapper rootPomModel = this.pomUpdater.readModel(rootPom);
-		processAllPoms(projectRoot, new PomWalker(rootPomModel, projects, this.pomUpdater, this.properties,
-				versionFromScRelease, assertVersions));
+		PomManifest manifest = manifest(projectRoot, rootPomModel, projects, versionFromScRelease, assertVersions);
+		processAllPoms(projectRoot, new PomWalker(projectRoot, rootPomModel, projects, this.pomUpdater, this.properties,
+				versionFromScRelease, assertVersions, manifest), changes);
+	}
+
+	private PomManifest manifest(File projectRoot, ModelWrapper rootPom, VersionsFromBom projects,
+			ProjectVersion versionFromScRelease, boolean assertVersions) {
+		if (!this.properties.getPom().isSkipUnchangedPoms()) {
+			return PomManifest.disabled();
+		}
+		String inputs = "root=" + rootPom.groupId() + ":" + rootPom.projectName() + "\nversion="
+				+ versionFromScRelease.projectName + ":" + versionFromScRelease.version + "\nassert=" + assertVersions
+				+ "\nprojects=" + projects.projects().stream().map(project -> project.name + ":" + project.version)
+						.sorted().collect(Collectors.joining(","));
+		return PomManifest.load(projectRoot, inputs);
 	}
 
-	private void processAllPoms(File projectRoot, PomWalker pomWalker) {
+	private void processAllPoms(File projectRoot, PomWalker pomWalker, StagedChanges changes) {
 		try {
 			Files.walkFileTree(projectRoot.toPath(), pomWalker);
 		}
 		catch (IOException e) {
 			throw new IllegalStateException(e);
 		}
+		pomWalker.updatePoms(changes);
+	}
+
+	/**
+	 * Updates the poms concurrently. The outcomes are joined in the order of the given
+	 * poms, regardless of the order in which the poms got processed. If any pom failed,
+	 * the failure of the first one in that order is rethrown.
+	 * @param poms - poms to update
+	 * @param update - updates a single pom
+	 * @return outcomes of the updates
+	 */
+	static List<PomUpdate> updateConcurrently(List<Path> poms, Function<Path, PomUpdate> update) {
+		List<PomUpdate> updates = POOL.invoke(new PomUpdateTask(update, poms));
+		for (PomUpdate pomUpdate : updates) {
+			if (pomUpdate.failure != null) {
+				throw pomUpdate.failure;
+			}
+		}
+		return updates;
 	}
 
 	@Override
 	public void close() throws IOException {
 		CACHE.clear();
+		PomReader.clear();
 	}
 
 	private final class PomWalker extends SimpleFileVisitor<Path> {
@@ -182,24 +290,47 @@ public class ProjectPomUpdater implements Closeable {
 
 		private final PomUpdater pomUpdater;
 
-		private final ReleaserProperties properties;
-
 		private final boolean skipVersionAssert;
 
 		private final boolean assertVersions;
 
-		private final List<Pattern> unacceptableVersionPatterns;
+		private final UnacceptableVersionScanner unacceptableVersionScanner;
+
+		/**
+		 * Compiled once per walk, instead of once per visited file.
+		 */
+		private final Pattern ignoredPomPattern;
+
+		private final IgnoredDirectories ignoredDirectories;
+
+		private final PomManifest manifest;
+
+		private final List<Path> poms = new ArrayList<>();
 
-		private PomWalker(ModelWrapper rootPom, VersionsFromBom projects, PomUpdater pomUpdater,
-				ReleaserProperties properties, ProjectVersion versionFromScRelease, boolean assertVersions) {
+		private PomWalker(File projectRoot, ModelWrapper rootPom, VersionsFromBom projects, PomUpdater pomUpdater,
+				ReleaserProperties properties, ProjectVersion versionFromScRelease, boolean assertVersions,
+				PomManifest manifest) {
 			this.rootPom = rootPom;
+			this.manifest = manifest;
 			this.versionsFromBom = projects;
 			this.pomUpdater = pomUpdater;
-			this.properties = properties;
-			List<Pattern> unacceptableVersionPatterns = versionFromScRelease.unacceptableVersionPatterns();
-			this.unacceptableVersionPatterns = unacceptableVersionPatterns;
-			this.skipVersionAssert = !assertVersions || unacceptableVersionPatterns.isEmpty();
+			this.unacceptableVersionScanner = new UnacceptableVersionScanner(
+					versionFromScRelease.unacceptableVersionPatterns(), IGNORED_SNAPSHOT_LINE_PATTERNS,
+					SPECIAL_LINE_IGNORING_COMMENT);
+			this.skipVersionAssert = !assertVersions || this.unacceptableVersionScanner.isEmpty();
 			this.assertVersions = assertVersions;
+			this.ignoredPomPattern = UnacceptableVersionScanner.anyOf(properties.getPom().getIgnoredPomRegex());
+			this.ignoredDirectories = new IgnoredDirectories(projectRoot.toPath(),
+					properties.getPom().getIgnoredDirectories());
+		}
+
+		@Override
+		public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+			if (this.ignoredDirectories.isIgnored(dir)) {
+				log.debug("Skipping directory [{}] since it's on a list of directories to ignore", dir);
+				return FileVisitResult.SKIP_SUBTREE;
+			}
+			return FileVisitResult.CONTINUE;
 		}
 
 		@Override
@@ -210,40 +341,86 @@ public class ProjectPomUpdater implements Closeable {
 					log.debug("Ignoring file [{}] since it's on a list of patterns to ignore", file);
 					return FileVisitResult.CONTINUE;
 				}
-				ModelWrapper model = this.pomUpdater.updateModel(this.rootPom, file, this.versionsFromBom);
-				this.pomUpdater.overwritePomIfDirty(model, this.versionsFromBom, file);
+				this.poms.add(path);
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		/**
+		 * Updates all the visited poms concurrently. The results are reported in the
+		 * order of the pom paths, regardless of the order in which the poms got
+		 * processed. If any pom failed, the failure of the first one is rethrown and no
+		 * pom gets staged. Otherwise all the changed poms are staged, to be stored
+		 * together with the other build files of the project.
+		 */
+		void updatePoms(StagedChanges changes) {
+			List<Path> sortedPoms = this.poms.stream().sorted().collect(Collectors.toList());
+			List<PomUpdate> updates = updateConcurrently(sortedPoms, this::updatePom);
+			Map<Path, String> contentHashes = new LinkedHashMap<>();
+			int skipped = 0;
+			int staged = 0;
+			for (PomUpdate update : updates) {
+				if (update.versionsAsserted) {
+					log.info("No invalid versions remained in the pom [{}]", update.pom);
+				}
+				if (update.stagedContent != null) {
+					changes.stage(update.pom, update.stagedContent);
+					staged++;
+				}
+				if (update.skipped) {
+					skipped++;
+				}
+				contentHashes.put(update.pom, update.contentHash);
+			}
+			log.info("Processed [{}] poms, [{}] of them were up to date with the manifest, [{}] will be stored",
+					updates.size(), skipped, staged);
+			changes.afterFlush(() -> this.manifest.store(contentHashes));
+		}
+
+		/**
+		 * Updates the pom in memory. Nothing gets stored until all the poms are updated
+		 * and validated.
+		 */
+		private PomUpdate updatePom(Path path) {
+			try {
+				File file = path.toFile();
+				StringBuilder content = this.pomUpdater.readXmlFile(file);
+				String contentHash = PomManifest.hash(content.toString());
+				if (this.manifest.isUpToDate(path, contentHash)) {
+					log.info("The pom [{}] was already updated with the same versions, will not process it", path);
+					return new PomUpdate(path, false, true, null, contentHash, null);
+				}
+				ModelWrapper model = this.pomUpdater.updateModel(this.rootPom, file, content, this.versionsFromBom);
+				String stagedContent = this.pomUpdater.stagePomIfDirty(model, this.versionsFromBom, file);
+				String updatedContentHash = stagedContent != null ? PomManifest.hash(stagedContent) : contentHash;
 				if (this.assertVersions && !this.skipVersionAssert && !this.pomUpdater.hasSkipDeployment(model.model)) {
 					log.debug("Update is a non-snapshot one. Checking if no snapshot versions remained in the pom");
-					String text = asString(path);
-					Scanner scanner = new Scanner(text);
-					int lineNumber = 0;
-					while (scanner.hasNextLine()) {
-						String line = scanner.nextLine();
-						lineNumber++;
-						Pattern matchingPattern = this.unacceptableVersionPatterns.stream()
-								.filter(pattern -> IGNORED_SNAPSHOT_LINE_PATTERNS.stream().noneMatch(line::matches)
-										&& !line.contains(SPECIAL_LINE_IGNORING_COMMENT)
-										&& pattern.matcher(line).lookingAt())
-								.findFirst().orElse(null);
-						if (matchingPattern != null) {
-							if (log.isDebugEnabled()) {
-								log.debug("File text \n" + text);
-							}
-							throw new IllegalStateException(
-									"The file [" + path + "] matches the [ " + matchingPattern.pattern()
-											+ "] pattern in line number [" + lineNumber + "]\n\n" + line);
-						}
-					}
-					log.info("No invalid versions remained in the pom");
+					assertNoSnapshotVersions(path, model);
+					return new PomUpdate(path, true, false, stagedContent, updatedContentHash, null);
 				}
+				return new PomUpdate(path, false, false, stagedContent, updatedContentHash, null);
 			}
-			return FileVisitResult.CONTINUE;
+			catch (IllegalStateException ex) {
+				return new PomUpdate(path, false, false, null, null, ex);
+			}
+		}
+
+		private void assertNoSnapshotVersions(Path path, ModelWrapper model) {
+			// the staged contents, the file is not updated yet
+			String text = model.content != null ? model.content.toString() : asString(path);
+			this.unacceptableVersionScanner.firstMatch(text).ifPresent(match -> {
+				if (log.isDebugEnabled()) {
+					log.debug("File text \n" + text);
+				}
+				throw new IllegalStateException("The file [" + path + "] matches the [ " + match.pattern.pattern()
+						+ "] pattern in line number [" + match.lineNumber + "]\n\n" + match.line);
+			});
 		}
 
 		private boolean pathIgnored(File file) {
 			String path = file.getPath();
-			return this.assertVersions
-					&& this.properties.getPom().getIgnoredPomRegex().stream().anyMatch(path::matches);
+			return this.assertVersions && this.ignoredPomPattern != null
+					&& this.ignoredPomPattern.matcher(path).matches();
 		}
 
 		private String asString(Path path) {
@@ -257,4 +434,73 @@ public class ProjectPomUpdater implements Closeable {
 
 	}
 
+	/**
+	 * Outcome of updating a single pom.
+	 */
+	static final class PomUpdate {
+
+		final Path pom;
+
+		final boolean versionsAsserted;
+
+		/**
+		 * {@code true} if the pom was up to date with the manifest and wasn't processed.
+		 */
+		final boolean skipped;
+
+		/**
+		 * New contents of the pom, {@code null} if it didn't change.
+		 */
+		final String stagedContent;
+
+		/**
+		 * Hash of the contents of the pom after the update.
+		 */
+		final String contentHash;
+
+		final IllegalStateException failure;
+
+		PomUpdate(Path pom, boolean versionsAsserted, boolean skipped, String stagedContent, String contentHash,
+				IllegalStateException failure) {
+			this.pom = pom;
+			this.versionsAsserted = versionsAsserted;
+			this.skipped = skipped;
+			this.stagedContent = stagedContent;
+			this.contentHash = contentHash;
+			this.failure = failure;
+		}
+
+	}
+
+	/**
+	 * Splits the list of poms until a single pom is left and updates it. Results are
+	 * joined in the order of the list.
+	 */
+	private static final class PomUpdateTask extends RecursiveTask<List<PomUpdate>> {
+
+		private final Function<Path, PomUpdate> update;
+
+		private final List<Path> poms;
+
+		private PomUpdateTask(Function<Path, PomUpdate> update, List<Path> poms) {
+			this.update = update;
+			this.poms = poms;
+		}
+
+		@Override
+		protected List<PomUpdate> compute() {
+			if (this.poms.size() <= 1) {
+				return this.poms.stream().map(this.update).collect(Collectors.toList());
+			}
+			int middle = this.poms.size() / 2;
+			PomUpdateTask left = new PomUpdateTask(this.update, this.poms.subList(0, middle));
+			PomUpdateTask right = new PomUpdateTask(this.update, this.poms.subList(middle, this.poms.size()));
+			left.fork();
+			List<PomUpdate> updates = new ArrayList<>(right.compute());
+			updates.addAll(0, left.join());
+			return updates;
+		}
+
+	}
+
 }
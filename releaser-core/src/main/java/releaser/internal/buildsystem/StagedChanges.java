@@ -0,0 +1,151 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * New contents of build files that were computed but not stored yet. Files are first
+ * updated and validated in memory, and only when all of them are fine the changes get
+ * stored. First all the new contents are written next to the files in parallel, then each
+ * file is replaced with its new contents by a move. A failure to process any file leaves
+ * the project untouched, so the whole update can be simply retried. The changes of all
+ * the build files of a project (e.g. poms and {@code gradle.properties}) should be staged
+ * in the same instance, so that they get stored together.
+ *
+ * @author Marcin Grzejszczak
+ */
+public final class StagedChanges {
+
+	private static final Logger log = LoggerFactory.getLogger(StagedChanges.class);
+
+	private static final String STAGED_FILE_SUFFIX = ".releaser-staged";
+
+	private final Map<Path, String> changes = new ConcurrentSkipListMap<>();
+
+	private final List<Runnable> flushCallbacks = new CopyOnWriteArrayList<>();
+
+	/**
+	 * @param file - file to update
+	 * @param contents - new contents of the file
+	 */
+	void stage(Path file, String contents) {
+		this.changes.put(file, contents);
+	}
+
+	int size() {
+		return this.changes.size();
+	}
+
+	/**
+	 * @param callback - called once the changes got stored
+	 */
+	void afterFlush(Runnable callback) {
+		this.flushCallbacks.add(callback);
+	}
+
+	/**
+	 * Stores all the staged changes.
+	 */
+	public void flush() {
+		if (!this.changes.isEmpty()) {
+			store();
+		}
+		this.flushCallbacks.forEach(Runnable::run);
+		this.flushCallbacks.clear();
+	}
+
+	private void store() {
+		List<Path> stagedFiles = new ArrayList<>();
+		try {
+			this.changes.entrySet().parallelStream().forEach(entry -> {
+				Path stagedFile = stagedFile(entry.getKey());
+				synchronized (stagedFiles) {
+					stagedFiles.add(stagedFile);
+				}
+				write(stagedFile, entry.getValue());
+			});
+		}
+		catch (IllegalStateException ex) {
+			stagedFiles.forEach(this::deleteQuietly);
+			throw ex;
+		}
+		List<Path> replaced = new ArrayList<>();
+		for (Path file : this.changes.keySet()) {
+			try {
+				move(stagedFile(file), file);
+			}
+			catch (IllegalStateException ex) {
+				stagedFiles.forEach(this::deleteQuietly);
+				throw new IllegalStateException(
+						ex.getMessage() + ". The following files were already replaced " + replaced, ex.getCause());
+			}
+			replaced.add(file);
+		}
+		log.info("Stored [{}] changed files", this.changes.size());
+		this.changes.clear();
+	}
+
+	private Path stagedFile(Path file) {
+		return file.resolveSibling("." + file.getFileName() + STAGED_FILE_SUFFIX);
+	}
+
+	private void write(Path stagedFile, String contents) {
+		try {
+			Files.write(stagedFile, contents.getBytes());
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to store the changes of file [" + stagedFile + "]", e);
+		}
+	}
+
+	private void move(Path stagedFile, Path file) {
+		try {
+			try {
+				Files.move(stagedFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch (AtomicMoveNotSupportedException ex) {
+				Files.move(stagedFile, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to store the changes of file [" + file + "]", e);
+		}
+	}
+
+	private void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException e) {
+			log.warn("Failed to delete the file [{}]", file, e);
+		}
+	}
+
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Finds lines with versions that are not acceptable for the released version (e.g.
+ * snapshots in a GA release). All the version patterns are combined into a single
+ * precompiled regular expression that gets matched against the whole text, so a file is
+ * scanned in one pass instead of matching every pattern against every line.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class UnacceptableVersionScanner {
+
+	private final List<Pattern> patterns;
+
+	private final Pattern combinedPattern;
+
+	private final Pattern ignoredLinePattern;
+
+	private final String ignoredLineMarker;
+
+	/**
+	 * @param patterns - patterns of unacceptable versions, matched from the beginning of
+	 * each line
+	 * @param ignoredLineRegexes - regular expressions of whole lines that should not be
+	 * checked
+	 * @param ignoredLineMarker - lines containing this text will not be checked,
+	 * {@code null} if there is no such marker
+	 */
+	UnacceptableVersionScanner(List<Pattern> patterns, List<String> ignoredLineRegexes, String ignoredLineMarker) {
+		this.patterns = patterns;
+		this.combinedPattern = patterns.isEmpty() ? null
+				: Pattern.compile(patterns.stream().map(pattern -> "(?:" + pattern.pattern() + ")")
+						.collect(Collectors.joining("|", "^(?:", ")")), Pattern.MULTILINE);
+		this.ignoredLinePattern = anyOf(ignoredLineRegexes);
+		this.ignoredLineMarker = ignoredLineMarker;
+	}
+
+	/**
+	 * @param regexes - regular expressions
+	 * @return a single pattern that matches a text when any of the regular expressions
+	 * matches it, {@code null} when there are no regular expressions
+	 */
+	static Pattern anyOf(List<String> regexes) {
+		if (regexes.isEmpty()) {
+			return null;
+		}
+		return Pattern.compile(regexes.stream().map(regex -> "(?:" + regex + ")").collect(Collectors.joining("|")));
+	}
+
+	/**
+	 * @return {@code true} if there are no unacceptable versions
+	 */
+	boolean isEmpty() {
+		return this.combinedPattern == null;
+	}
+
+	/**
+	 * @param text - text to scan
+	 * @return the first line with an unacceptable version
+	 */
+	Optional<Match> firstMatch(String text) {
+		if (isEmpty()) {
+			return Optional.empty();
+		}
+		Matcher matcher = this.combinedPattern.matcher(text);
+		int from = 0;
+		while (from <= text.length() && matcher.find(from)) {
+			int lineStart = matcher.start();
+			int lineEnd = lineEnd(text, lineStart);
+			String line = text.substring(lineStart, lineEnd);
+			if (!isIgnored(line)) {
+				return Optional.of(new Match(lineNumber(text, lineStart), line, matchingPattern(line)));
+			}
+			from = lineEnd + 1;
+		}
+		return Optional.empty();
+	}
+
+	private boolean isIgnored(String line) {
+		return (this.ignoredLinePattern != null && this.ignoredLinePattern.matcher(line).matches())
+				|| (this.ignoredLineMarker != null && line.contains(this.ignoredLineMarker));
+	}
+
+	private Pattern matchingPattern(String line) {
+		return this.patterns.stream().filter(pattern -> pattern.matcher(line).lookingAt()).findFirst()
+				.orElse(this.combinedPattern);
+	}
+
+	private int lineEnd(String text, int lineStart) {
+		for (int i = lineStart; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || c == '\r') {
+				return i;
+			}
+		}
+		return text.length();
+	}
+
+	private int lineNumber(String text, int index) {
+		int lineNumber = 1;
+		for (int i = 0; i < index; i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || (c == '\r' && (i + 1 >= text.length() || text.charAt(i + 1) != '\n'))) {
+				lineNumber++;
+			}
+		}
+		return lineNumber;
+	}
+
+	/**
+	 * A line with an unacceptable version.
+	 */
+	static final class Match {
+
+		/**
+		 * Number of the line, starting from 1.
+		 */
+		final int lineNumber;
+
+		final String line;
+
+		/**
+		 * Pattern that matched the line.
+		 */
+		final Pattern pattern;
+
+		Match(int lineNumber, String line, Pattern pattern) {
+			this.lineNumber = lineNumber;
+			this.line = line;
+			this.pattern = pattern;
+		}
+
+	}
+
+}
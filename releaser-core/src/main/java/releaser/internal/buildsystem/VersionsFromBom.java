@@ -19,8 +19,11 @@ package releaser.internal.buildsystem;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -39,12 +42,21 @@ public class VersionsFromBom {
 
 	public static final VersionsFromBom EMPTY_VERSION = new VersionsFromBom();
 
+	private static final String VERSION_PROPERTY_SUFFIX = ".version";
+
 	Set<Project> projects = new HashSet<>();
 
 	ReleaserProperties properties;
 
 	CustomBomParser parser;
 
+	/**
+	 * Projects by name. Built lazily on first lookup and dropped whenever the projects
+	 * change, so that the lookups done for every dependency, plugin and property of every
+	 * pom don't have to go through all the projects.
+	 */
+	private volatile Map<String, Project> index;
+
 	private VersionsFromBom() {
 		this.properties = new ReleaserProperties();
 		this.properties.getPom().setThisTrainBom("unknown-bom");
@@ -62,10 +74,24 @@ public class VersionsFromBom {
 		projects.forEach(project -> setVersion(project.name, project.version));
 	}
 
+	/**
+	 * Merges the projects in a single pass. When a project is present in more than one of
+	 * the merged versions, the version from the last of them wins.
+	 */
 	VersionsFromBom(ReleaserProperties releaserProperties, CustomBomParser parser, VersionsFromBom... projects) {
+		this(releaserProperties, parser, Arrays.asList(projects));
+	}
+
+	VersionsFromBom(ReleaserProperties releaserProperties, CustomBomParser parser, List<VersionsFromBom> projects) {
 		this.properties = releaserProperties;
 		this.parser = parser;
-		Arrays.stream(projects).forEach(p -> this.projects.addAll(p.projects));
+		if (projects.size() == 1) {
+			this.projects.addAll(projects.get(0).projects);
+			return;
+		}
+		Map<String, Project> merged = new LinkedHashMap<>();
+		projects.forEach(p -> p.projects.forEach(project -> merged.put(project.name, project)));
+		this.projects.addAll(merged.values());
 	}
 
 	private String bomProjectName() {
@@ -82,16 +108,25 @@ public class VersionsFromBom {
 	}
 
 	public String versionForProject(String projectName) {
-		return this.projects.stream().filter(project -> nameMatches(projectName, project)).findFirst()
-				.orElse(Project.EMPTY_PROJECT).version;
+		Project project = projectFor(projectName);
+		return project != null ? project.version : Project.EMPTY_PROJECT.version;
 	}
 
 	public boolean shouldBeUpdated(String projectName) {
-		return this.projects.stream().anyMatch(project -> nameMatches(projectName, project));
+		return projectFor(projectName) != null;
 	}
 
 	public boolean shouldSetProperty(Properties properties) {
-		return this.projects.stream().anyMatch(project -> properties.containsKey(project.name + ".version"));
+		return properties.keySet().stream().anyMatch(key -> projectForProperty(key) != null);
+	}
+
+	/**
+	 * @param properties - properties of a pom
+	 * @return projects whose {@code <project name>.version} property is set
+	 */
+	List<Project> projectsWithVersionProperty(Properties properties) {
+		return properties.keySet().stream().map(this::projectForProperty).filter(project -> project != null)
+				.collect(Collectors.toList());
 	}
 
 	public Projects toProjectVersions() {
@@ -100,16 +135,44 @@ public class VersionsFromBom {
 	}
 
 	/**
-	 * The only exception is spring-cloud-dependencies (e.g. Greenwich.RELEASE) and
-	 * spring-cloud-dependencies-parent (e.g. 2.1.0.RELEASE)
+	 * A project matches either by its name or by its name with the {@code -parent} or
+	 * {@code -dependencies} suffix. The only exception is spring-cloud-dependencies (e.g.
+	 * Greenwich.RELEASE) and spring-cloud-dependencies-parent (e.g. 2.1.0.RELEASE)
 	 */
-	private boolean nameMatches(String projectName, Project project) {
-		if (project.name.equals(projectName)) {
-			return true;
+	private Project projectFor(String projectName) {
+		Map<String, Project> index = index();
+		Project project = index.get(projectName);
+		if (project != null) {
+			return project;
+		}
+		project = projectWithoutSuffix(index, projectName, "-parent");
+		if (project == null) {
+			project = projectWithoutSuffix(index, projectName, "-dependencies");
 		}
-		boolean parent = matchesNameWithSuffix(projectName, "-parent", project);
-		boolean bomArtifactId = comparisonOfBomArtifactAndParent(projectName, project);
-		return !bomArtifactId && (parent || matchesNameWithSuffix(projectName, "-dependencies", project));
+		if (project == null || comparisonOfBomArtifactAndParent(projectName, project)) {
+			return null;
+		}
+		return project;
+	}
+
+	private Project projectForProperty(Object propertyName) {
+		String name = String.valueOf(propertyName);
+		if (!name.endsWith(VERSION_PROPERTY_SUFFIX)) {
+			return null;
+		}
+		return index().get(name.substring(0, name.length() - VERSION_PROPERTY_SUFFIX.length()));
+	}
+
+	private Map<String, Project> index() {
+		Map<String, Project> index = this.index;
+		if (index == null) {
+			index = new HashMap<>();
+			for (Project project : this.projects) {
+				index.putIfAbsent(project.name, project);
+			}
+			this.index = index;
+		}
+		return index;
 	}
 
 	private boolean comparisonOfBomArtifactAndParent(String projectName, Project project) {
@@ -120,13 +183,11 @@ public class VersionsFromBom {
 		return projectName.equals(dependenciesArtifactId()) && otherProjectName.equals(dependenciesParentArtifactId());
 	}
 
-	private boolean matchesNameWithSuffix(String projectName, String suffix, Project project) {
-		boolean containsSuffix = projectName.endsWith(suffix);
-		if (!containsSuffix) {
-			return false;
+	private Project projectWithoutSuffix(Map<String, Project> index, String projectName, String suffix) {
+		if (!projectName.endsWith(suffix)) {
+			return null;
 		}
-		String withoutSuffix = projectName.substring(0, projectName.indexOf(suffix));
-		return project.name.equals(withoutSuffix);
+		return index.get(projectName.substring(0, projectName.indexOf(suffix)));
 	}
 
 	public VersionsFromBom setVersion(String projectName, String version) {
@@ -134,6 +195,7 @@ public class VersionsFromBom {
 		if (!projects.equals(this.projects)) {
 			this.projects.clear();
 			this.projects.addAll(projects);
+			this.index = null;
 			return this;
 		}
 		if (bomVersionProjectNames().contains(projectName)) {
@@ -161,10 +223,13 @@ public class VersionsFromBom {
 
 	public void add(String key, String value) {
 		this.projects.add(new Project(key, value));
+		this.index = null;
 	}
 
 	public void remove(String expectedProjectName) {
-		this.projects.removeIf(project -> expectedProjectName.equals(project.name));
+		if (this.projects.removeIf(project -> expectedProjectName.equals(project.name))) {
+			this.index = null;
+		}
 	}
 
 	public Set<Project> projects() {
@@ -18,6 +18,7 @@ package releaser.internal.buildsystem;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -70,12 +71,24 @@ public class VersionsFromBomBuilder {
 		return new VersionsFromBom(this.releaserProperties, bomParser, this.versionsFromBom);
 	}
 
+	/**
+	 * Collects the versions from the BOM and the results of all the custom parsers and
+	 * merges them once. Custom parsers override the versions from the BOM and later
+	 * parsers override the earlier ones.
+	 * @return merged versions
+	 */
 	public VersionsFromBom retrieveFromBom() {
 		File thisProjectRoot = thisProjectRoot();
 		CustomBomParser bomParser = parser();
-		VersionsFromBom versionsFromBom = versionsFromBom(bomParser);
-		VersionsFromBom customParsing = customParsing(thisProjectRoot);
-		return new VersionsFromBom(this.releaserProperties, bomParser, versionsFromBom, customParsing);
+		List<VersionsFromBom> parsed = new ArrayList<>(this.versionsFromBom.length + this.parsers.size() + 1);
+		if (!this.projects.isEmpty()) {
+			parsed.add(new VersionsFromBom(this.releaserProperties, bomParser, this.projects));
+		}
+		else {
+			parsed.addAll(Arrays.asList(this.versionsFromBom));
+		}
+		this.parsers.forEach(p -> parsed.add(p.parseBom(thisProjectRoot, this.releaserProperties)));
+		return new VersionsFromBom(this.releaserProperties, bomParser, parsed);
 	}
 
 	private File thisProjectRoot() {
@@ -86,22 +99,4 @@ public class VersionsFromBomBuilder {
 		return this.parsers.isEmpty() ? CustomBomParser.NO_OP : this.parsers.get(0);
 	}
 
-	private VersionsFromBom versionsFromBom(CustomBomParser bomParser) {
-		if (!this.projects.isEmpty()) {
-			return new VersionsFromBom(this.releaserProperties, bomParser, this.projects);
-		}
-		else if (this.versionsFromBom.length != 0) {
-			return new VersionsFromBom(this.releaserProperties, bomParser, this.versionsFromBom);
-		}
-		return new VersionsFromBom(this.releaserProperties, bomParser);
-	}
-
-	private VersionsFromBom customParsing(File thisProjectRoot) {
-		return this.parsers.stream().map(p -> p.parseBom(thisProjectRoot, this.releaserProperties))
-				.reduce((versionsFromBom, versionsFromBom2) -> new VersionsFromBomBuilder().parsers(this.parsers)
-						.thisProjectRoot(thisProjectRoot).releaserProperties(this.releaserProperties)
-						.projects(versionsFromBom, versionsFromBom2).merged())
-				.orElse(VersionsFromBom.EMPTY_VERSION);
-	}
-
 }
\ No newline at end of file
@@ -17,6 +17,8 @@
 package releaser.internal.docs;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 
 import releaser.internal.project.ProjectVersion;
 import releaser.internal.project.Projects;
@@ -67,4 +69,31 @@ public interface CustomProjectDocumentationUpdater {
 	File updateDocsRepoForSingleProject(File clonedDocumentationProject, ProjectVersion currentProject,
 			Projects projects);
 
+	/**
+	 * Paths of the documentation repository that
+	 * {@link #updateDocsRepoForReleaseTrain(File, ProjectVersion, Projects, String)}
+	 * reads or modifies. Only those get checked out.
+	 * @param currentProject project to update the docs repo for
+	 * @param projects list of projects to update versions for
+	 * @param bomBranch the bom project branch
+	 * @return paths relative to the repository root, empty to check out the whole
+	 * repository
+	 */
+	default List<String> releaseTrainDocsPaths(ProjectVersion currentProject, Projects projects, String bomBranch) {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Paths of the documentation repository that
+	 * {@link #updateDocsRepoForSingleProject(File, ProjectVersion, Projects)} reads or
+	 * modifies. Only those get checked out.
+	 * @param currentProject project to update the docs repo for
+	 * @param projects list of projects to update versions for
+	 * @return paths relative to the repository root, empty to check out the whole
+	 * repository
+	 */
+	default List<String> singleProjectDocsPaths(ProjectVersion currentProject, Projects projects) {
+		return Collections.emptyList();
+	}
+
 }
@@ -52,10 +52,11 @@ class ProjectDocumentationUpdater {
 		if (!shouldUpdate(currentProject)) {
 			return null;
 		}
-		File documentationProject = this.gitHandler.cloneDocumentationProject();
-		log.debug("Cloning the doc project to [{}]", documentationProject);
 		CustomProjectDocumentationUpdater updater = this.updaters.isEmpty() ? CustomProjectDocumentationUpdater.NO_OP
 				: this.updaters.get(0);
+		File documentationProject = this.gitHandler
+				.cloneDocumentationProject(updater.releaseTrainDocsPaths(currentProject, projects, bomBranch));
+		log.debug("Cloning the doc project to [{}]", documentationProject);
 		return updater.updateDocsRepoForReleaseTrain(documentationProject, currentProject, projects, bomBranch);
 	}
 
@@ -65,10 +66,11 @@ class ProjectDocumentationUpdater {
 		if (!shouldUpdate(currentProject)) {
 			return null;
 		}
-		File documentationProject = this.gitHandler.cloneDocumentationProject();
-		log.debug("Cloning the doc project to [{}]", documentationProject);
 		CustomProjectDocumentationUpdater updater = this.updaters.isEmpty() ? CustomProjectDocumentationUpdater.NO_OP
 				: this.updaters.get(0);
+		File documentationProject = this.gitHandler
+				.cloneDocumentationProject(updater.singleProjectDocsPaths(currentProject, projects));
+		log.debug("Cloning the doc project to [{}]", documentationProject);
 		return updater.updateDocsRepoForSingleProject(documentationProject, currentProject, projects);
 	}
 
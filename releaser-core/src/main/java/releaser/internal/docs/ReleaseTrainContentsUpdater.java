@@ -19,6 +19,7 @@ package releaser.internal.docs;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.StringJoiner;
@@ -67,13 +68,14 @@ class ReleaseTrainContentsUpdater {
 					+ "is off or it's not a meta-release. Set [releaser.git.update-release-train-wiki] to [true] to change that");
 			return null;
 		}
-		File releaseTrainWiki = this.handler.cloneReleaseTrainWiki();
 		ProjectVersion releaseTrain = projects.releaseTrain(this.properties);
 		// When using calver this need to be a major plus minor (ie if the release is
 		// 2020.0.1, the name of the wiki page is 2020.0)
 		String releaseTrainName = releaseTrain.isCalver() ? releaseTrain.majorAndMinor() : releaseTrain.major();
 		String wikiPagePrefix = this.properties.getGit().getReleaseTrainWikiPagePrefix();
 		String releaseTrainDocFileName = releaseTrainDocFileName(releaseTrainName, wikiPagePrefix);
+		// the release train page is the only file of the wiki that gets updated
+		File releaseTrainWiki = this.handler.cloneReleaseTrainWiki(Collections.singletonList(releaseTrainDocFileName));
 		log.info("Reading the file [{}] for the current release train", releaseTrainDocFileName);
 		File releaseTrainDocFile = releaseTrainDocFile(releaseTrainWiki, releaseTrainDocFileName);
 		String releaseVersionFromCurrentFile = this.parser.latestReleaseTrainFromWiki(releaseTrainDocFile);
@@ -158,8 +160,8 @@ class ReleaseTrainContentsGitHandler {
 		this.handler = handler;
 	}
 
-	File cloneReleaseTrainWiki() {
-		return this.handler.cloneReleaseTrainWiki();
+	File cloneReleaseTrainWiki(List<String> paths) {
+		return this.handler.cloneReleaseTrainWiki(paths);
 	}
 
 	void commitAndPushChanges(File repo, ProjectVersion releaseTrain) {
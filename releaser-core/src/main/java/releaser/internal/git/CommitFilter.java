@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.git;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.eclipse.jgit.revwalk.filter.AndRevFilter;
+import org.eclipse.jgit.revwalk.filter.AuthorRevFilter;
+import org.eclipse.jgit.revwalk.filter.MessageRevFilter;
+import org.eclipse.jgit.revwalk.filter.RevFilter;
+import org.eclipse.jgit.treewalk.filter.AndTreeFilter;
+import org.eclipse.jgit.treewalk.filter.PathFilterGroup;
+import org.eclipse.jgit.treewalk.filter.TreeFilter;
+
+/**
+ * Restricts the commits returned by a commit log. The filters are applied while walking
+ * the history, so commits that don't match are never handed to the caller.
+ *
+ * @author Marcin Grzejszczak
+ */
+public final class CommitFilter {
+
+	private static final CommitFilter ALL = new CommitFilter(Collections.emptyList(), null, null);
+
+	private final List<String> paths;
+
+	private final String authorPattern;
+
+	private final String messagePattern;
+
+	private CommitFilter(List<String> paths, String authorPattern, String messagePattern) {
+		this.paths = paths;
+		this.authorPattern = authorPattern;
+		this.messagePattern = messagePattern;
+	}
+
+	/**
+	 * @return filter that accepts all commits
+	 */
+	public static CommitFilter all() {
+		return ALL;
+	}
+
+	/**
+	 * @param paths - paths (relative to the repository root) a commit has to touch
+	 * @return filter that additionally accepts only commits touching any of the paths
+	 */
+	public CommitFilter paths(String... paths) {
+		List<String> newPaths = new ArrayList<>(this.paths);
+		newPaths.addAll(Arrays.asList(paths));
+		return new CommitFilter(Collections.unmodifiableList(newPaths), this.authorPattern, this.messagePattern);
+	}
+
+	/**
+	 * @param pattern - case insensitive regular expression that has to match part of the
+	 * author's name or email
+	 * @return filter that additionally accepts only commits of matching authors
+	 */
+	public CommitFilter author(String pattern) {
+		return new CommitFilter(this.paths, pattern, this.messagePattern);
+	}
+
+	/**
+	 * @param pattern - case insensitive regular expression that has to match part of the
+	 * commit message
+	 * @return filter that additionally accepts only commits with matching messages
+	 */
+	public CommitFilter message(String pattern) {
+		return new CommitFilter(this.paths, this.authorPattern, pattern);
+	}
+
+	void applyTo(RevWalk walk) {
+		if (!this.paths.isEmpty()) {
+			walk.setTreeFilter(
+					AndTreeFilter.create(PathFilterGroup.createFromStrings(this.paths), TreeFilter.ANY_DIFF));
+		}
+		List<RevFilter> filters = new ArrayList<>();
+		if (this.authorPattern != null) {
+			filters.add(AuthorRevFilter.create(this.authorPattern));
+		}
+		if (this.messagePattern != null) {
+			filters.add(MessageRevFilter.create(this.messagePattern));
+		}
+		if (filters.size() == 1) {
+			walk.setRevFilter(filters.get(0));
+		}
+		else if (filters.size() > 1) {
+			walk.setRevFilter(AndRevFilter.create(filters));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "CommitFilter{" + "paths=" + this.paths + ", authorPattern='" + this.authorPattern + '\''
+				+ ", messagePattern='" + this.messagePattern + '\'' + '}';
+	}
+
+}
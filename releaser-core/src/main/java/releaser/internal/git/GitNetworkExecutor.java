@@ -0,0 +1,188 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.git;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.transport.URIish;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import releaser.internal.ReleaserProperties;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Runs the git operations that go over the network (clone, fetch and push). The number of
+ * concurrent operations per remote host is limited, so that a parallel release doesn't
+ * open dozens of connections to the same host at once. Operations that fail with a
+ * transport error are retried with an exponential, jittered backoff.
+ *
+ * @author Marcin Grzejszczak
+ */
+class GitNetworkExecutor {
+
+	private static final Logger log = LoggerFactory.getLogger(GitNetworkExecutor.class);
+
+	/**
+	 * Permits per host, shared by all executors. Not a
+	 * {@link releaser.internal.tech.BoundedCache} on purpose - there are only a few hosts
+	 * per run, and evicting a semaphore while its permits are taken would let more
+	 * connections through than the limit allows.
+	 */
+	private static final Map<String, HostPermits> PERMITS = new ConcurrentHashMap<>();
+
+	private static final long INITIAL_BACKOFF_MILLIS = 1000L;
+
+	private static final long MAX_BACKOFF_MILLIS = 30_000L;
+
+	private final int connectionsPerHost;
+
+	private final int attempts;
+
+	private final long initialBackoffMillis;
+
+	GitNetworkExecutor(ReleaserProperties.Git properties) {
+		this(properties.getConnectionsPerHost(), properties.getNetworkRetryAttempts(), INITIAL_BACKOFF_MILLIS);
+	}
+
+	GitNetworkExecutor(int connectionsPerHost, int attempts, long initialBackoffMillis) {
+		this.connectionsPerHost = Math.max(1, connectionsPerHost);
+		this.attempts = Math.max(1, attempts);
+		this.initialBackoffMillis = initialBackoffMillis;
+	}
+
+	/**
+	 * Executes a network git operation.
+	 * @param remote - remote the operation connects to, {@code null} if unknown
+	 * @param operation - name of the operation, used for logging
+	 * @param call - the operation
+	 * @param <T> - type of the result
+	 * @return result of the operation
+	 * @throws GitAPIException - when the operation failed after all the attempts
+	 */
+	<T> T execute(URIish remote, String operation, GitCall<T> call) throws GitAPIException {
+		String host = host(remote);
+		HostPermits permits = PERMITS.computeIfAbsent(host, key -> new HostPermits(this.connectionsPerHost));
+		permits.limit(this.connectionsPerHost);
+		for (int attempt = 1;; attempt++) {
+			long backoff;
+			acquire(permits, host);
+			try {
+				return call.call();
+			}
+			catch (TransportException ex) {
+				if (attempt >= this.attempts) {
+					throw ex;
+				}
+				backoff = backoff(attempt);
+				log.warn("Attempt [{}/{}] to {} for host [{}] failed with [{}]. Will retry in [{}] ms", attempt,
+						this.attempts, operation, host, ex.getMessage(), backoff);
+			}
+			finally {
+				permits.release();
+			}
+			// the connection slot is free while waiting, the retry acquires it again
+			sleep(backoff);
+		}
+	}
+
+	/**
+	 * Exponential backoff where half of the value is random, so that parallel operations
+	 * that failed at the same time don't retry at the same time.
+	 */
+	long backoff(int attempt) {
+		long exponential = Math.min(MAX_BACKOFF_MILLIS, this.initialBackoffMillis << Math.min(attempt - 1, 16));
+		long half = exponential / 2;
+		return half + (half > 0 ? ThreadLocalRandom.current().nextLong(half + 1) : 0);
+	}
+
+	private String host(URIish remote) {
+		if (remote == null) {
+			return "unknown";
+		}
+		return StringUtils.hasText(remote.getHost()) ? remote.getHost() : "local";
+	}
+
+	private void acquire(HostPermits permits, String host) {
+		try {
+			if (!permits.tryAcquire()) {
+				log.info("Reached the limit of [{}] concurrent git operations for host [{}]. Waiting for a free slot",
+						this.connectionsPerHost, host);
+				permits.acquire();
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a connection to host [" + host + "]", ex);
+		}
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	/**
+	 * Permits of a single host. When an executor with a different connection limit
+	 * connects to the host, the limit gets changed instead of creating another set of
+	 * permits, so the host never gets more connections than the last configured limit.
+	 */
+	static final class HostPermits extends Semaphore {
+
+		private int limit;
+
+		HostPermits(int limit) {
+			super(limit, true);
+			this.limit = limit;
+		}
+
+		synchronized void limit(int limit) {
+			if (limit > this.limit) {
+				release(limit - this.limit);
+			}
+			else if (limit < this.limit) {
+				// permits taken above the new limit are not handed out again once
+				// released
+				reducePermits(this.limit - limit);
+			}
+			this.limit = limit;
+		}
+
+	}
+
+	/**
+	 * A git operation that can throw a {@link GitAPIException}.
+	 *
+	 * @param <T> - type of the result
+	 */
+	interface GitCall<T> {
+
+		T call() throws GitAPIException;
+
+	}
+
+}
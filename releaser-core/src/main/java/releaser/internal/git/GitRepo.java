@@ -19,13 +19,13 @@ package releaser.internal.git;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.Date;
-import java.util.LinkedList;
+import java.net.URISyntaxException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.jcraft.jsch.IdentityRepository;
 import com.jcraft.jsch.JSch;
@@ -48,9 +48,14 @@ import org.eclipse.jgit.api.ResetCommand;
 import org.eclipse.jgit.api.TransportConfigCallback;
 import org.eclipse.jgit.api.errors.EmptyCommitException;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.dircache.DirCache;
+import org.eclipse.jgit.dircache.DirCacheBuilder;
+import org.eclipse.jgit.dircache.DirCacheEntry;
 import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.ObjectReader;
 import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.RefUpdate;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevWalk;
@@ -58,7 +63,9 @@ import org.eclipse.jgit.transport.CredentialsProvider;
 import org.eclipse.jgit.transport.FetchResult;
 import org.eclipse.jgit.transport.JschConfigSessionFactory;
 import org.eclipse.jgit.transport.OpenSshConfig;
+import org.eclipse.jgit.transport.PushResult;
 import org.eclipse.jgit.transport.RefSpec;
+import org.eclipse.jgit.transport.RemoteRefUpdate;
 import org.eclipse.jgit.transport.SshTransport;
 import org.eclipse.jgit.transport.URIish;
 import org.eclipse.jgit.transport.UsernamePasswordCredentialsProvider;
@@ -108,9 +115,23 @@ class GitRepo {
 	 * @return file where the project was cloned
 	 */
 	File cloneProject(URIish projectUri) {
+		return cloneProject(projectUri, true);
+	}
+
+	/**
+	 * Clones the project without checking out any files. Use
+	 * {@link #sparseCheckout(String, Collection)} to materialize the required paths.
+	 * @param projectUri - URI of the project
+	 * @return file where the project was cloned
+	 */
+	File cloneProjectWithoutCheckout(URIish projectUri) {
+		return cloneProject(projectUri, false);
+	}
+
+	private File cloneProject(URIish projectUri, boolean checkout) {
 		try {
 			log.info("Cloning repo from [{}] to [{}]", projectUri, humanishDestination(projectUri, this.basedir));
-			Git git = cloneToBasedir(projectUri, this.basedir);
+			Git git = cloneToBasedir(projectUri, this.basedir, checkout);
 			if (git != null) {
 				git.close();
 			}
@@ -138,6 +159,55 @@ class GitRepo {
 		}
 	}
 
+	/**
+	 * Checks out a branch writing only the given paths to the working tree. The index
+	 * still tracks all the files of the branch, so a subsequent {@link #commit(String)}
+	 * records only the changes done to the materialized paths. Local changes get
+	 * discarded.
+	 * @param branch - branch to check out, current branch if empty
+	 * @param paths - files or directories (relative to the repository root) to
+	 * materialize
+	 */
+	void sparseCheckout(String branch, Collection<String> paths) {
+		try (Git git = this.gitFactory.open(file(this.basedir))) {
+			log.info("Checking out paths {} of branch [{}] for repo [{}]", paths, branch, this.basedir);
+			Repository repository = git.getRepository();
+			String fullBranch = StringUtils.hasText(branch) ? Constants.R_HEADS + branch : repository.getFullBranch();
+			if (repository.exactRef(fullBranch) == null) {
+				String shortBranch = Repository.shortenRefName(fullBranch);
+				git.branchCreate().setName(shortBranch).setStartPoint("origin/" + shortBranch)
+						.setUpstreamMode(CreateBranchCommand.SetupUpstreamMode.TRACK).call();
+			}
+			RefUpdate head = repository.updateRef(Constants.HEAD);
+			head.disableRefLog();
+			head.link(fullBranch);
+			resetIndex(repository, repository.resolve(fullBranch + "^{tree}"));
+			CheckoutCommand checkout = git.checkout();
+			paths.forEach(checkout::addPath);
+			checkout.call();
+			log.info("Successfully checked out the paths");
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Replaces the index with the contents of the tree, without touching the working
+	 * tree.
+	 */
+	private void resetIndex(Repository repository, ObjectId tree) throws IOException {
+		DirCache index = repository.lockDirCache();
+		try (ObjectReader reader = repository.newObjectReader()) {
+			DirCacheBuilder builder = index.builder();
+			builder.addTree(new byte[0], DirCacheEntry.STAGE_0, reader, tree);
+			builder.commit();
+		}
+		finally {
+			index.unlock();
+		}
+	}
+
 	/**
 	 * Fetch changes.
 	 */
@@ -188,14 +258,8 @@ class GitRepo {
 	 * Attempt to retrieve a tag id from a name, prepending the name with /refs/tags/.
 	 */
 	Optional<ObjectId> findTagIdByName(String tagName, boolean unpeel) {
-		try (Git git = this.gitFactory.open(file(this.basedir))) {
-			return git.tagList().call().stream().filter(ref -> ref.getName().equals("refs/tags/" + tagName)).findFirst()
-					.map(ref -> {
-						if (ref.isPeeled() && unpeel) {
-							return ref.getPeeledObjectId();
-						}
-						return ref.getObjectId();
-					});
+		try {
+			return sortedTags().byName(tagName).map(tag -> unpeel ? tag.peeledId : tag.objectId);
 		}
 		catch (Exception e) {
 			throw new IllegalStateException("Unable to fetch git tag id for refs/tags/" + tagName, e);
@@ -208,79 +272,78 @@ class GitRepo {
 	 * @param to newest revision
 	 */
 	List<RevCommit> log(String from, String to) {
-		try (Git git = this.gitFactory.open(file(this.basedir))) {
-			final Optional<Ref> fromRevisionOptional = findTagOrBranchHeadRevision(git, from);
-			final Optional<Ref> toRevisionOptional = findTagOrBranchHeadRevision(git, to);
-
-			ObjectId fromRevision;
-			if (fromRevisionOptional.isPresent()) {
-				Ref ref = fromRevisionOptional.get();
-				if (ref.isPeeled()) {
-					fromRevision = ref.getPeeledObjectId();
-				}
-				else {
-					fromRevision = ref.getObjectId();
-				}
-			}
-			else {
-				fromRevision = ObjectId.fromString(from);
-			}
-
-			ObjectId toRevision;
-			if (toRevisionOptional.isPresent()) {
-				Ref ref = toRevisionOptional.get();
-				if (ref.isPeeled()) {
-					toRevision = ref.getPeeledObjectId();
-				}
-				else {
-					toRevision = ref.getObjectId();
-				}
-			}
-			else {
-				toRevision = ObjectId.fromString(to);
-			}
+		try (Stream<RevCommit> commits = logStream(from, to, CommitFilter.all())) {
+			return commits.collect(Collectors.toList());
+		}
+	}
 
-			LinkedList<RevCommit> commits = new LinkedList<>();
-			git.log().addRange(fromRevision, toRevision).call().forEach(commits::add);
-			return commits;
+	/**
+	 * Lazily walks the {@link RevCommit}s between two tags / branches / hashes. The
+	 * history is walked only as far as the returned stream gets consumed. The stream must
+	 * be closed to release the walk.
+	 * @param from oldest revision
+	 * @param to newest revision
+	 * @param filter filter to apply while walking the history
+	 * @return stream of commits, newest first
+	 */
+	Stream<RevCommit> logStream(String from, String to, CommitFilter filter) {
+		Git git = null;
+		RevWalk walk = null;
+		try {
+			git = this.gitFactory.open(file(this.basedir));
+			ObjectId fromRevision = revision(git, from);
+			ObjectId toRevision = revision(git, to);
+			walk = new RevWalk(git.getRepository());
+			walk.markStart(walk.parseCommit(toRevision));
+			walk.markUninteresting(walk.parseCommit(fromRevision));
+			filter.applyTo(walk);
+			RevWalk revWalk = walk;
+			Git openedGit = git;
+			return StreamSupport.stream(walk.spliterator(), false).onClose(() -> {
+				revWalk.close();
+				openedGit.close();
+			});
 		}
 		catch (Exception e) {
+			if (walk != null) {
+				walk.close();
+			}
+			if (git != null) {
+				git.close();
+			}
 			throw new IllegalStateException("Unable to fetch git log for " + from + ".." + to, e);
 		}
 	}
 
+	private ObjectId revision(Git git, String tagBranchOrHash) throws GitAPIException, IOException {
+		Optional<Ref> revisionOptional = findTagOrBranchHeadRevision(git, tagBranchOrHash);
+		if (!revisionOptional.isPresent()) {
+			return ObjectId.fromString(tagBranchOrHash);
+		}
+		Ref ref = revisionOptional.get();
+		return ref.isPeeled() ? ref.getPeeledObjectId() : ref.getObjectId();
+	}
+
 	/**
 	 * List all the tags in the repository.
-	 * @return a {@link List} of all the tags in the repository.
+	 * @return a {@link List} of all the tags in the repository, most recent first.
 	 */
 	Stream<String> listTags() {
-		try (Git git = this.gitFactory.open(file(this.basedir))) {
-			final RevWalk walk = new RevWalk(git.getRepository());
-			List<Ref> allTagsNewestFirst = git.tagList().call();
-			Collections.sort(allTagsNewestFirst, (Comparator<Ref>) (o1, o2) -> {
-				Date d1;
-				Date d2;
-				try {
-					d1 = walk.parseTag(o1.getObjectId()).getTaggerIdent().getWhen();
-				}
-				catch (IOException ioe) {
-					return 1; // put at end
-				}
-				try {
-					d2 = walk.parseTag(o2.getObjectId()).getTaggerIdent().getWhen();
-				}
-				catch (IOException ioe) {
-					return -1; // put ahead
-				}
-				return d2.compareTo(d1); // more recent first
-			});
-			return allTagsNewestFirst.stream().map(ref -> Repository.shortenRefName(ref.getName()));
+		try {
+			return sortedTags().names();
 		}
 		catch (Exception e) {
 			throw new IllegalStateException("Unable to fetch git tags", e);
 		}
 	}
 
+	private SortedTags sortedTags() throws GitAPIException, FileNotFoundException {
+		File file = file(this.basedir);
+		try (Git git = this.gitFactory.open(file)) {
+			return SortedTags.of(file, git.getRepository(), git.tagList().call());
+		}
+	}
+
 	/**
 	 * Look for a tag with the given name, and if not found looks for a branch.
 	 */
@@ -349,7 +412,8 @@ class GitRepo {
 		try (Git git = this.gitFactory.open(file(this.basedir))) {
 			String localBranch = git.getRepository().getFullBranch();
 			RefSpec refSpec = new RefSpec(localBranch + ":" + branch);
-			this.gitFactory.push(git).setPushTags().setRefSpecs(refSpec).call();
+			this.gitFactory.network().execute(remote(git), "push branch [" + branch + "]",
+					() -> this.gitFactory.push(git).setPushTags().setRefSpecs(refSpec).call());
 		}
 		catch (Exception e) {
 			throw new IllegalStateException(e);
@@ -361,7 +425,8 @@ class GitRepo {
 	 */
 	void pushCurrentBranch() {
 		try (Git git = this.gitFactory.open(file(this.basedir))) {
-			this.gitFactory.push(git).call();
+			this.gitFactory.network().execute(remote(git), "push the current branch",
+					() -> this.gitFactory.push(git).call());
 		}
 		catch (Exception e) {
 			throw new IllegalStateException(e);
@@ -376,7 +441,36 @@ class GitRepo {
 		try (Git git = this.gitFactory.open(file(this.basedir))) {
 			String localBranch = git.getRepository().getFullBranch();
 			RefSpec refSpec = new RefSpec(localBranch + ":" + "refs/tags/" + tagName);
-			this.gitFactory.push(git).setPushTags().setRefSpecs(refSpec).call();
+			this.gitFactory.network().execute(remote(git), "push tag [" + tagName + "]",
+					() -> this.gitFactory.push(git).setPushTags().setRefSpecs(refSpec).call());
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Pushes all the given refs to {@code origin} in a single, atomic push. Either all
+	 * the refs get updated or none of them.
+	 * @param refSpecs - refs to push
+	 */
+	void pushAtomically(List<String> refSpecs) {
+		try (Git git = this.gitFactory.open(file(this.basedir))) {
+			List<RefSpec> specs = refSpecs.stream().map(RefSpec::new).collect(Collectors.toList());
+			Iterable<PushResult> results = this.gitFactory.network().execute(remote(git), "push " + refSpecs,
+					() -> this.gitFactory.push(git).setAtomic(true).setRefSpecs(specs).call());
+			for (PushResult result : results) {
+				for (RemoteRefUpdate update : result.getRemoteUpdates()) {
+					if (update.getStatus() != RemoteRefUpdate.Status.OK
+							&& update.getStatus() != RemoteRefUpdate.Status.UP_TO_DATE) {
+						throw new IllegalStateException("Failed to push [" + update.getRemoteName() + "] with status ["
+								+ update.getStatus() + "] and message [" + update.getMessage() + "]");
+					}
+				}
+			}
+		}
+		catch (IllegalStateException e) {
+			throw e;
 		}
 		catch (Exception e) {
 			throw new IllegalStateException(e);
@@ -403,6 +497,23 @@ class GitRepo {
 		}
 	}
 
+	/**
+	 * @return id of the commit checked out in the working copy, empty if there is no
+	 * commit or the working copy has changes that are not committed
+	 */
+	Optional<String> headCommit() {
+		try (Git git = this.gitFactory.open(file(this.basedir))) {
+			ObjectId head = git.getRepository().resolve(Constants.HEAD);
+			if (head == null || !git.status().call().isClean()) {
+				return Optional.empty();
+			}
+			return Optional.of(head.getName());
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	String currentBranch() {
 		try (Git git = this.gitFactory.open(file(this.basedir))) {
 			return git.getRepository().getBranch();
@@ -416,16 +527,20 @@ class GitRepo {
 		return ResourceUtils.getFile(project.toURI()).getAbsoluteFile();
 	}
 
-	private Git cloneToBasedir(URIish projectUrl, File destinationFolder) throws GitAPIException {
-		CloneCommand command = this.gitFactory.getCloneCommandByCloneRepository().setURI(projectUrl.toString() + ".git")
-				.setDirectory(humanishDestination(projectUrl, destinationFolder));
-		try {
-			return command.call();
-		}
-		catch (GitAPIException e) {
-			deleteBaseDirIfExists();
-			throw e;
-		}
+	private Git cloneToBasedir(URIish projectUrl, File destinationFolder, boolean checkout) throws GitAPIException {
+		return this.gitFactory.network().execute(projectUrl, "clone [" + projectUrl + "]", () -> {
+			// a command can be called only once, so each attempt needs a new one
+			CloneCommand command = this.gitFactory.getCloneCommandByCloneRepository()
+					.setURI(projectUrl.toString() + ".git")
+					.setDirectory(humanishDestination(projectUrl, destinationFolder)).setNoCheckout(!checkout);
+			try {
+				return command.call();
+			}
+			catch (GitAPIException e) {
+				deleteBaseDirIfExists();
+				throw e;
+			}
+		});
 	}
 
 	private File humanishDestination(URIish projectUrl, File destinationFolder) {
@@ -434,9 +549,11 @@ class GitRepo {
 
 	private FetchResult fetch(File projectDir) throws GitAPIException {
 		Git git = this.gitFactory.open(projectDir);
-		FetchCommand command = git.fetch();
 		try {
-			return command.call();
+			return this.gitFactory.network().execute(remote(git), "fetch [" + projectDir + "]", () -> {
+				FetchCommand command = git.fetch();
+				return command.call();
+			});
 		}
 		catch (GitAPIException e) {
 			deleteBaseDirIfExists();
@@ -447,6 +564,19 @@ class GitRepo {
 		}
 	}
 
+	private URIish remote(Git git) {
+		String url = git.getRepository().getConfig().getString("remote", "origin", "url");
+		if (url == null) {
+			return null;
+		}
+		try {
+			return new URIish(url);
+		}
+		catch (URISyntaxException e) {
+			return null;
+		}
+	}
+
 	private Ref reset(File projectDir) throws GitAPIException {
 		Git git = this.gitFactory.open(projectDir);
 		ResetCommand command = git.reset().setMode(ResetCommand.ResetType.HARD);
@@ -513,6 +643,7 @@ class GitRepo {
 
 	private void deleteBaseDirIfExists() {
 		if (this.basedir.exists()) {
+			RepositoryPool.evict(this.basedir);
 			try {
 				FileUtils.delete(this.basedir, FileUtils.RECURSIVE);
 			}
@@ -570,7 +701,10 @@ class GitRepo {
 			}
 		};
 
+		private final GitNetworkExecutor network;
+
 		JGitFactory(ReleaserProperties releaserProperties) {
+			this.network = new GitNetworkExecutor(releaserProperties.getGit());
 			if (StringUtils.hasText(releaserProperties.getGit().getUsername())) {
 				log.info("Passed username and password - will set a custom credentials provider");
 				this.provider = credentialsProvider(releaserProperties);
@@ -584,6 +718,7 @@ class GitRepo {
 		// for tests
 		JGitFactory() {
 			this.provider = null;
+			this.network = new GitNetworkExecutor(new ReleaserProperties.Git().getConnectionsPerHost(), 1, 0);
 		}
 
 		CredentialsProvider credentialsProvider(ReleaserProperties properties) {
@@ -596,13 +731,17 @@ class GitRepo {
 					.setTransportConfigCallback(this.callback);
 		}
 
+		GitNetworkExecutor network() {
+			return this.network;
+		}
+
 		PushCommand push(Git git) {
 			return git.push().setCredentialsProvider(this.provider).setTransportConfigCallback(this.callback);
 		}
 
 		Git open(File file) {
 			try {
-				return Git.open(file);
+				return RepositoryPool.open(file);
 			}
 			catch (IOException e) {
 				throw new IllegalStateException(e);
@@ -18,11 +18,20 @@ package releaser.internal.git;
 
 import java.io.Closeable;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -33,6 +42,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.project.ProjectVersion;
+import releaser.internal.tech.BoundedCache;
 import releaser.internal.tech.TemporaryFileStorage;
 
 import org.springframework.util.StringUtils;
@@ -44,7 +54,13 @@ import org.springframework.util.StringUtils;
  */
 public class ProjectGitHandler implements Closeable {
 
-	private static final Map<URIish, File> CACHE = new ConcurrentHashMap<>();
+	private static final BoundedCache<URIish, File> CACHE = BoundedCache.of("cloned-projects");
+
+	/**
+	 * Projects cloned without checking out the whole working tree. Kept apart from
+	 * {@link #CACHE}, since resetting such a project would materialize all of its files.
+	 */
+	private static final BoundedCache<URIish, File> SPARSE_CACHE = BoundedCache.of("sparsely-cloned-projects");
 
 	private static final Logger log = LoggerFactory.getLogger(ProjectGitHandler.class);
 
@@ -56,8 +72,16 @@ public class ProjectGitHandler implements Closeable {
 
 	private static final String POST_RELEASE_BUMP_MSG = "Bumping versions to %s after release";
 
+	private static final int MAX_CONCURRENT_PUSHES = 8;
+
 	private final ReleaserProperties properties;
 
+	/**
+	 * Project location to the refs that will be pushed at the end of the release. Used
+	 * only when batched pushing is enabled.
+	 */
+	private final Map<File, Set<String>> pendingPushes = new ConcurrentHashMap<>();
+
 	public ProjectGitHandler(ReleaserProperties properties) {
 		this.properties = properties;
 		registerShutdownHook();
@@ -79,7 +103,13 @@ public class ProjectGitHandler implements Closeable {
 			gitRepo.commit(String.format(PRE_RELEASE_MSG, version.version));
 			String tagName = "v" + version.version;
 			gitRepo.tag(tagName);
-			gitRepo.pushTag(tagName);
+			if (this.properties.getGit().isBatchPush()) {
+				String tagRef = "refs/tags/" + tagName;
+				addPendingPush(project, tagRef + ":" + tagRef);
+			}
+			else {
+				gitRepo.pushTag(tagName);
+			}
 		}
 	}
 
@@ -107,6 +137,16 @@ public class ProjectGitHandler implements Closeable {
 		return cloneProject(this.properties.getGit().getReleaseTrainWikiUrl());
 	}
 
+	/**
+	 * Clones the release train wiki, materializing only the given paths (unless sparse
+	 * checkout is disabled).
+	 * @param paths - files or directories to check out
+	 * @return location of the cloned wiki
+	 */
+	public File cloneReleaseTrainWiki(Collection<String> paths) {
+		return cloneSparsely(this.properties.getGit().getReleaseTrainWikiUrl(), "", paths);
+	}
+
 	public File cloneReleaseTrainProject() {
 		return cloneProject(this.properties.getGit().getReleaseTrainBomUrl());
 	}
@@ -125,6 +165,17 @@ public class ProjectGitHandler implements Closeable {
 				this.properties.getGit().getDocumentationBranch());
 	}
 
+	/**
+	 * Clones the documentation project, materializing only the given paths (unless sparse
+	 * checkout is disabled).
+	 * @param paths - files or directories to check out
+	 * @return location of the cloned documentation project
+	 */
+	public File cloneDocumentationProject(Collection<String> paths) {
+		return cloneSparsely(this.properties.getGit().getDocumentationUrl(),
+				this.properties.getGit().getDocumentationBranch(), paths);
+	}
+
 	public File cloneSpringDocProject() {
 		return cloneAndCheckOut(this.properties.getGit().getSpringProjectUrl(),
 				this.properties.getGit().getSpringProjectBranch());
@@ -214,7 +265,24 @@ public class ProjectGitHandler implements Closeable {
 	 * @return the list of revisions between these two references
 	 */
 	public List<SimpleCommit> commitsBetween(File clonedProject, String fromRef, String toRef) {
-		return gitRepo(clonedProject).log(fromRef, toRef).stream().map(SimpleCommit::new).collect(Collectors.toList());
+		try (Stream<SimpleCommit> commits = streamCommitsBetween(clonedProject, fromRef, toRef, CommitFilter.all())) {
+			return commits.collect(Collectors.toList());
+		}
+	}
+
+	/**
+	 * Lazily walks the commits between two versions. Only the part of the history that
+	 * gets consumed is walked, so callers that stop early don't pay for the whole range.
+	 * The returned {@link Stream} must be closed to release the underlying walk.
+	 * @param clonedProject location of the cloned project
+	 * @param fromRef the ref to start from (tag, branch or sha1)
+	 * @param toRef the ref to go to (tag, branch or sha1)
+	 * @param filter restricts the returned commits, e.g. to given paths or authors
+	 * @return stream of commits between these two references, newest first
+	 */
+	public Stream<SimpleCommit> streamCommitsBetween(File clonedProject, String fromRef, String toRef,
+			CommitFilter filter) {
+		return gitRepo(clonedProject).logStream(fromRef, toRef, filter).map(SimpleCommit::new);
 	}
 
 	/**
@@ -257,6 +325,35 @@ public class ProjectGitHandler implements Closeable {
 		}
 	}
 
+	private File cloneSparsely(String url, String branch, Collection<String> paths) {
+		if (!this.properties.getGit().isSparseCheckout() || paths.isEmpty()) {
+			return StringUtils.hasText(branch) ? cloneAndCheckOut(url, branch) : cloneProject(url);
+		}
+		try {
+			URIish urIish = new URIish(url);
+			File destinationDir = destinationDir();
+			AtomicBoolean cloned = new AtomicBoolean();
+			File clonedProject = SPARSE_CACHE.computeIfAbsent(urIish, urIish1 -> {
+				cloned.set(true);
+				return gitRepo(destinationDir).cloneProjectWithoutCheckout(urIish);
+			});
+			if (!cloned.get()) {
+				log.info("Project has already been cloned. Will try to fetch the latest changes.");
+				try {
+					gitRepo(clonedProject).fetch();
+				}
+				catch (Exception ex) {
+					log.warn("Couldn't fetch the repository, will continue", ex);
+				}
+			}
+			gitRepo(clonedProject).sparseCheckout(branch, paths);
+			return clonedProject;
+		}
+		catch (Exception e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
 	private File destinationDir() {
 		return this.properties.getGit().getCloneDestinationDir() != null
 				? new File(this.properties.getGit().getCloneDestinationDir())
@@ -314,6 +411,104 @@ public class ProjectGitHandler implements Closeable {
 		gitRepo(project).pushCurrentBranch();
 	}
 
+	/**
+	 * Pushes the current branch of a released project. With batched pushing enabled the
+	 * branch will only be pushed when {@link #pushPendingChanges()} gets called.
+	 * @param project - location of the released project
+	 */
+	public void pushReleasedBranch(File project) {
+		if (!this.properties.getGit().isBatchPush()) {
+			pushCurrentBranch(project);
+			return;
+		}
+		String branchRef = "refs/heads/" + currentBranch(project);
+		addPendingPush(project, branchRef + ":" + branchRef);
+	}
+
+	private void addPendingPush(File project, String refSpec) {
+		log.info("Batched pushing is enabled. Will push [{}] for project [{}] at the end of the release", refSpec,
+				project);
+		this.pendingPushes.compute(project.getAbsoluteFile(), (file, refSpecs) -> {
+			Set<String> updated = refSpecs != null ? refSpecs : new LinkedHashSet<>();
+			updated.add(refSpec);
+			return updated;
+		});
+	}
+
+	/**
+	 * @return {@code true} if there are any changes waiting to be pushed
+	 */
+	public boolean hasPendingChanges() {
+		return !this.pendingPushes.isEmpty();
+	}
+
+	/**
+	 * Pushes all pending changes. Each repository gets a single atomic push, and the
+	 * repositories are pushed concurrently.
+	 */
+	public void pushPendingChanges() {
+		Map<File, List<String>> toPush = drainPendingPushes();
+		if (toPush.isEmpty()) {
+			log.info("There are no pending changes to push");
+			return;
+		}
+		log.info("Pushing pending changes of [{}] repositories", toPush.size());
+		ExecutorService service = Executors.newFixedThreadPool(Math.min(toPush.size(), MAX_CONCURRENT_PUSHES));
+		try {
+			Map<File, Future<?>> futures = new LinkedHashMap<>();
+			toPush.forEach((project, refSpecs) -> futures.put(project,
+					service.submit(() -> gitRepo(project).pushAtomically(refSpecs))));
+			List<Exception> exceptions = new ArrayList<>();
+			futures.forEach((project, future) -> {
+				try {
+					future.get();
+					log.info("Successfully pushed {} for project [{}]", toPush.get(project), project);
+				}
+				catch (Exception ex) {
+					log.error("Failed to push " + toPush.get(project) + " for project [" + project + "]", ex);
+					exceptions.add(ex);
+				}
+			});
+			if (!exceptions.isEmpty()) {
+				throw new IllegalStateException("Failed to push changes for [" + exceptions.size() + "] out of ["
+						+ toPush.size() + "] repositories", exceptions.get(0));
+			}
+		}
+		finally {
+			service.shutdown();
+		}
+	}
+
+	/**
+	 * Drops all pending changes, e.g. when the release failed.
+	 */
+	public void discardPendingChanges() {
+		Map<File, List<String>> discarded = drainPendingPushes();
+		if (!discarded.isEmpty()) {
+			log.warn("Discarding pending changes {}", discarded);
+		}
+	}
+
+	private Map<File, List<String>> drainPendingPushes() {
+		Map<File, List<String>> drained = new LinkedHashMap<>();
+		new ArrayList<>(this.pendingPushes.keySet()).forEach(project -> {
+			Set<String> refSpecs = this.pendingPushes.remove(project);
+			if (refSpecs != null) {
+				drained.put(project, new ArrayList<>(refSpecs));
+			}
+		});
+		return drained;
+	}
+
+	/**
+	 * @param project the base dir for the cloned repository
+	 * @return an {@link Optional} that is valued with the sha1 of the checked out commit,
+	 * if the working copy has no uncommitted changes
+	 */
+	public Optional<String> headCommit(File project) {
+		return gitRepo(project).headCommit();
+	}
+
 	public String currentBranch(File project) {
 		return gitRepo(project).currentBranch();
 	}
@@ -325,6 +520,10 @@ public class ProjectGitHandler implements Closeable {
 	@Override
 	public void close() {
 		CACHE.clear();
+		SPARSE_CACHE.clear();
+		this.pendingPushes.clear();
+		SortedTags.clear();
+		RepositoryPool.closeAll();
 	}
 
 	/**
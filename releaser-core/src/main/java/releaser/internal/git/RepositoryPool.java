@@ -0,0 +1,197 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.git;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.lib.RepositoryBuilder;
+import org.eclipse.jgit.lib.RepositoryCache;
+import org.eclipse.jgit.util.FS;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of long-lived {@link Repository} handles, one per git directory, shared by all
+ * {@link GitRepo} instances. Opening a repository re-reads its config, packed refs and
+ * pack indexes, so instead of doing that for each git operation the handle is kept open
+ * and reference counted. Handles get closed when their directory is evicted or at
+ * shutdown.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class RepositoryPool {
+
+	private static final Logger log = LoggerFactory.getLogger(RepositoryPool.class);
+
+	private static final Map<File, Handle> POOL = new ConcurrentHashMap<>();
+
+	static {
+		Runtime.getRuntime().addShutdownHook(new Thread(RepositoryPool::closeAll));
+	}
+
+	private RepositoryPool() {
+		throw new IllegalStateException("Can't instantiate a utility class");
+	}
+
+	/**
+	 * Opens a {@link Git} instance backed by a pooled repository. Closing the returned
+	 * instance releases the handle instead of closing the repository.
+	 * @param dir - working tree or git directory of the repository
+	 * @return git instance
+	 * @throws IOException - when the repository can't be opened
+	 */
+	static Git open(File dir) throws IOException {
+		File gitDir = RepositoryCache.FileKey.lenient(dir, FS.DETECTED).getFile().getCanonicalFile();
+		try {
+			Handle handle = POOL.compute(gitDir, (key, existing) -> {
+				Handle current = existing != null ? existing : new Handle(key, build(key));
+				current.retain();
+				return current;
+			});
+			return new PooledGit(handle);
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private static Repository build(File gitDir) {
+		try {
+			if (log.isDebugEnabled()) {
+				log.debug("Opening a pooled repository for [{}]", gitDir);
+			}
+			return new RepositoryBuilder().setFS(FS.DETECTED).setGitDir(gitDir).setMustExist(true).build();
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	/**
+	 * Evicts all repositories located under the given directory, e.g. because the
+	 * directory is about to be removed. Handles that are still in use get closed when the
+	 * last user releases them.
+	 * @param dir - directory to evict
+	 */
+	static void evict(File dir) {
+		String path = canonicalPath(dir);
+		evict(key -> key.getPath().equals(path) || key.getPath().startsWith(path + File.separator));
+	}
+
+	/**
+	 * Closes all pooled repositories.
+	 */
+	static void closeAll() {
+		evict(key -> true);
+	}
+
+	private static void evict(Predicate<File> predicate) {
+		POOL.keySet().stream().filter(predicate).forEach(key -> {
+			Handle handle = POOL.remove(key);
+			if (handle != null) {
+				handle.evict();
+			}
+		});
+	}
+
+	private static String canonicalPath(File dir) {
+		try {
+			return dir.getCanonicalPath();
+		}
+		catch (IOException ex) {
+			return dir.getAbsolutePath();
+		}
+	}
+
+	/**
+	 * Reference counted repository.
+	 */
+	private static final class Handle {
+
+		private final File gitDir;
+
+		private final Repository repository;
+
+		private int references;
+
+		private boolean evicted;
+
+		private boolean closed;
+
+		Handle(File gitDir, Repository repository) {
+			this.gitDir = gitDir;
+			this.repository = repository;
+		}
+
+		synchronized void retain() {
+			this.references++;
+		}
+
+		synchronized void release() {
+			this.references--;
+			closeIfUnused();
+		}
+
+		synchronized void evict() {
+			this.evicted = true;
+			closeIfUnused();
+		}
+
+		private void closeIfUnused() {
+			if (this.evicted && this.references <= 0 && !this.closed) {
+				this.closed = true;
+				if (log.isDebugEnabled()) {
+					log.debug("Closing the pooled repository for [{}]", this.gitDir);
+				}
+				this.repository.close();
+			}
+		}
+
+	}
+
+	/**
+	 * {@link Git} that releases the pooled handle on close.
+	 */
+	private static final class PooledGit extends Git {
+
+		private final Handle handle;
+
+		private boolean closed;
+
+		PooledGit(Handle handle) {
+			super(handle.repository);
+			this.handle = handle;
+		}
+
+		@Override
+		public synchronized void close() {
+			if (!this.closed) {
+				this.closed = true;
+				this.handle.release();
+			}
+		}
+
+	}
+
+}
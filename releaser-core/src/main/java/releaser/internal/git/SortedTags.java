@@ -0,0 +1,191 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.git;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.PersonIdent;
+import org.eclipse.jgit.lib.Ref;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevTag;
+import org.eclipse.jgit.revwalk.RevWalk;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Immutable list of tags of a repository, ordered from the most recent one. The date and
+ * the peeled target of each tag are resolved exactly once, when the list gets built.
+ * Lightweight tags (that have no date) are put at the end.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class SortedTags {
+
+	private static final Logger log = LoggerFactory.getLogger(SortedTags.class);
+
+	private static final Map<File, SortedTags> CACHE = new ConcurrentHashMap<>();
+
+	private static final Comparator<Tag> NEWEST_FIRST = Comparator.comparing(tag -> tag.when,
+			Comparator.nullsLast(Comparator.reverseOrder()));
+
+	/**
+	 * Tag ref names to their object ids. Used to verify whether the cached entry still
+	 * reflects the state of the repository.
+	 */
+	private final Map<String, ObjectId> state;
+
+	private final List<Tag> tags;
+
+	private final Map<String, Tag> tagsByName;
+
+	private SortedTags(Map<String, ObjectId> state, List<Tag> tags) {
+		this.state = state;
+		this.tags = Collections.unmodifiableList(tags);
+		Map<String, Tag> tagsByName = new HashMap<>();
+		tags.forEach(tag -> tagsByName.putIfAbsent(tag.name, tag));
+		this.tagsByName = Collections.unmodifiableMap(tagsByName);
+	}
+
+	/**
+	 * Returns sorted tags for the given repository. If the tag refs haven't changed since
+	 * the last call for the same directory, the previously resolved list is returned.
+	 * @param basedir - location of the repository, used as cache key
+	 * @param repository - repository to resolve the tags from
+	 * @param tagRefs - current tag refs of the repository
+	 * @return sorted tags
+	 */
+	static SortedTags of(File basedir, Repository repository, List<Ref> tagRefs) {
+		Map<String, ObjectId> state = state(tagRefs);
+		SortedTags cached = CACHE.get(basedir);
+		if (cached != null && cached.state.equals(state)) {
+			return cached;
+		}
+		SortedTags sortedTags = resolve(repository, tagRefs, state);
+		CACHE.put(basedir, sortedTags);
+		return sortedTags;
+	}
+
+	private static Map<String, ObjectId> state(List<Ref> tagRefs) {
+		Map<String, ObjectId> state = new LinkedHashMap<>();
+		tagRefs.forEach(ref -> state.put(ref.getName(), ref.getObjectId()));
+		return state;
+	}
+
+	private static SortedTags resolve(Repository repository, List<Ref> tagRefs, Map<String, ObjectId> state) {
+		List<Tag> tags = new ArrayList<>(tagRefs.size());
+		try (RevWalk walk = new RevWalk(repository)) {
+			for (Ref ref : tagRefs) {
+				tags.add(tag(walk, ref));
+			}
+		}
+		// stable sort, lightweight tags keep their original order
+		tags.sort(NEWEST_FIRST);
+		if (log.isDebugEnabled()) {
+			log.debug("Resolved [{}] tags", tags.size());
+		}
+		return new SortedTags(state, tags);
+	}
+
+	private static Tag tag(RevWalk walk, Ref ref) {
+		String name = Repository.shortenRefName(ref.getName());
+		ObjectId objectId = ref.getObjectId();
+		try {
+			RevObject object = walk.parseAny(objectId);
+			Date when = null;
+			if (object instanceof RevTag) {
+				PersonIdent taggerIdent = ((RevTag) object).getTaggerIdent();
+				when = taggerIdent != null ? taggerIdent.getWhen() : null;
+			}
+			return new Tag(name, objectId, walk.peel(object).copy(), when);
+		}
+		catch (IOException ex) {
+			log.warn("Failed to resolve tag [{}]", ref.getName(), ex);
+			return new Tag(name, objectId, objectId, null);
+		}
+	}
+
+	/**
+	 * @return tag names, most recent first
+	 */
+	Stream<String> names() {
+		return this.tags.stream().map(tag -> tag.name);
+	}
+
+	/**
+	 * @param name - short name of the tag (without the refs/tags/ prefix)
+	 * @return tag with the given name
+	 */
+	Optional<Tag> byName(String name) {
+		return Optional.ofNullable(this.tagsByName.get(name));
+	}
+
+	/**
+	 * Removes all cached entries.
+	 */
+	static void clear() {
+		CACHE.clear();
+	}
+
+	/**
+	 * A tag with its resolved metadata.
+	 */
+	static final class Tag {
+
+		/**
+		 * Short name of the tag.
+		 */
+		final String name;
+
+		/**
+		 * Object the tag ref points to (a tag object for annotated tags).
+		 */
+		final ObjectId objectId;
+
+		/**
+		 * Object the tag eventually points to (usually a commit).
+		 */
+		final ObjectId peeledId;
+
+		/**
+		 * Tagging date, {@code null} for lightweight tags.
+		 */
+		final Date when;
+
+		Tag(String name, ObjectId objectId, ObjectId peeledId, Date when) {
+			this.name = name;
+			this.objectId = objectId;
+			this.peeledId = peeledId;
+			this.when = when;
+		}
+
+	}
+
+}
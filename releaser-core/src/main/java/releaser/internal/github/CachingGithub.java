@@ -18,9 +18,7 @@ package releaser.internal.github;
 
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.json.JsonObject;
@@ -55,6 +53,7 @@ import com.jcabi.github.Search;
 import com.jcabi.github.Stars;
 import com.jcabi.github.Users;
 import com.jcabi.http.Request;
+import releaser.internal.tech.BoundedCache;
 
 class CachingGithub implements Github, Closeable {
 
@@ -147,7 +146,7 @@ class CachingGithub implements Github, Closeable {
 
 class CachingRepos implements Repos, Closeable {
 
-	private static final Map<Object, CachingRepo> CACHE = new ConcurrentHashMap<>();
+	private static final BoundedCache<Object, CachingRepo> CACHE = BoundedCache.of("github-repos");
 
 	private final Repos delegate;
 
@@ -205,7 +204,7 @@ class CachingRepos implements Repos, Closeable {
 
 class CachingRepo implements Repo, Closeable {
 
-	private static final Map<RepoKey, Object> CACHE = new ConcurrentHashMap<>();
+	private static final BoundedCache<RepoKey, Object> CACHE = BoundedCache.of("github-repo-resources");
 
 	private final Repo delegate;
 
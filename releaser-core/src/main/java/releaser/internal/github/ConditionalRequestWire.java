@@ -0,0 +1,271 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.immutable.Array;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import releaser.internal.ReleaserProperties;
+
+/**
+ * Stores successful responses of {@code GET} requests on disk together with their
+ * {@code ETag} and {@code Last-Modified} headers. When the same resource is requested
+ * again, the request is sent with {@code If-None-Match} and {@code If-Modified-Since}
+ * headers and a {@code 304 Not Modified} response is replaced with the stored one. GitHub
+ * doesn't count such responses against the rate limit, and since every request is still
+ * validated by the server, stored responses are never stale. Requests of different users
+ * (or with different {@code Accept} headers) are stored separately.
+ *
+ * @author Marcin Grzejszczak
+ */
+public final class ConditionalRequestWire implements Wire {
+
+	private static final Logger log = LoggerFactory.getLogger(ConditionalRequestWire.class);
+
+	/**
+	 * Changed when the format of the stored responses changes, so that old entries get
+	 * ignored.
+	 */
+	private static final String FORMAT = "1";
+
+	private static final String ETAG = "ETag";
+
+	private static final String LAST_MODIFIED = "Last-Modified";
+
+	private final Wire origin;
+
+	private final Path directory;
+
+	/**
+	 * @param origin - wire that sends the requests
+	 * @param directory - folder in which the responses are stored
+	 */
+	public ConditionalRequestWire(Wire origin, String directory) {
+		this.origin = origin;
+		this.directory = Paths.get(directory);
+	}
+
+	/**
+	 * @param request - entry point of a GitHub client
+	 * @param properties - releaser properties
+	 * @return the request sent through this wire, or the unchanged request if caching of
+	 * GitHub responses is disabled
+	 */
+	public static Request cached(Request request, ReleaserProperties properties) {
+		if (!properties.getGit().isCacheGithubResponses()) {
+			return request;
+		}
+		return request.through(ConditionalRequestWire.class, properties.getGit().getGithubCacheDir());
+	}
+
+	@Override
+	public Response send(Request req, String home, String method, Collection<Map.Entry<String, String>> headers,
+			InputStream content, int connect, int read) throws IOException {
+		if (!Request.GET.equals(method) || header(headers, "If-None-Match") != null
+				|| header(headers, "If-Modified-Since") != null) {
+			return this.origin.send(req, home, method, headers, content, connect, read);
+		}
+		Path file = this.directory.resolve(key(home, headers));
+		StoredResponse stored = read(file);
+		Response response = this.origin.send(req, home, method, conditional(headers, stored), content, connect, read);
+		if (stored != null && response.status() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+			log.debug("Resource [{}] was not modified, will use the stored response", home);
+			return new DefaultResponse(req, stored.status, stored.reason, new Array<>(stored.headers), stored.body);
+		}
+		if (response.status() == HttpURLConnection.HTTP_OK
+				&& (header(response, ETAG) != null || header(response, LAST_MODIFIED) != null)) {
+			store(file, response);
+		}
+		return response;
+	}
+
+	private Collection<Map.Entry<String, String>> conditional(Collection<Map.Entry<String, String>> headers,
+			StoredResponse stored) {
+		if (stored == null) {
+			return headers;
+		}
+		List<Map.Entry<String, String>> conditional = new ArrayList<>(headers);
+		String etag = stored.header(ETAG);
+		if (etag != null) {
+			conditional.add(new AbstractMap.SimpleImmutableEntry<>("If-None-Match", etag));
+		}
+		String lastModified = stored.header(LAST_MODIFIED);
+		if (lastModified != null) {
+			conditional.add(new AbstractMap.SimpleImmutableEntry<>("If-Modified-Since", lastModified));
+		}
+		return conditional;
+	}
+
+	private StoredResponse read(Path file) {
+		if (!Files.exists(file)) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			return StoredResponse.read(input);
+		}
+		catch (IOException e) {
+			log.warn("Failed to read the stored GitHub response [{}], the request will not be conditional", file, e);
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the response. Failing to store it only means that the next request will not
+	 * be conditional, so errors are just logged.
+	 */
+	private void store(Path file, Response response) {
+		try {
+			Files.createDirectories(this.directory);
+			Path staged = Files.createTempFile(this.directory, file.getFileName().toString(), ".tmp");
+			try {
+				try (DataOutputStream output = new DataOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(staged)))) {
+					StoredResponse.write(output, response);
+				}
+				move(staged, file);
+			}
+			finally {
+				Files.deleteIfExists(staged);
+			}
+		}
+		catch (IOException e) {
+			log.warn("Failed to store the GitHub response in [{}]", file, e);
+		}
+	}
+
+	private void move(Path staged, Path file) throws IOException {
+		try {
+			Files.move(staged, file, StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e) {
+			Files.move(staged, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	/**
+	 * @param home - URI of the resource
+	 * @param headers - headers of the request
+	 * @return name of the file in which the response is stored
+	 */
+	static String key(String home, Collection<Map.Entry<String, String>> headers) {
+		String inputs = "format=" + FORMAT + "\nuri=" + home + "\naccept=" + header(headers, "Accept")
+				+ "\nauthorization=" + header(headers, "Authorization");
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(inputs.getBytes(StandardCharsets.UTF_8));
+			StringBuilder key = new StringBuilder();
+			for (byte b : digest) {
+				key.append(String.format("%02x", b));
+			}
+			return key.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String header(Collection<Map.Entry<String, String>> headers, String name) {
+		return headers.stream().filter(header -> name.equalsIgnoreCase(header.getKey())).map(Map.Entry::getValue)
+				.findFirst().orElse(null);
+	}
+
+	private static String header(Response response, String name) {
+		return response.headers().entrySet().stream().filter(header -> name.equalsIgnoreCase(header.getKey()))
+				.flatMap(header -> header.getValue().stream()).findFirst().orElse(null);
+	}
+
+	/**
+	 * A response read from the disk.
+	 */
+	private static final class StoredResponse {
+
+		private final int status;
+
+		private final String reason;
+
+		private final List<Map.Entry<String, String>> headers;
+
+		private final byte[] body;
+
+		private StoredResponse(int status, String reason, List<Map.Entry<String, String>> headers, byte[] body) {
+			this.status = status;
+			this.reason = reason;
+			this.headers = headers;
+			this.body = body;
+		}
+
+		static StoredResponse read(DataInputStream input) throws IOException {
+			int status = input.readInt();
+			String reason = input.readUTF();
+			int numberOfHeaders = input.readInt();
+			List<Map.Entry<String, String>> headers = new ArrayList<>(numberOfHeaders);
+			for (int i = 0; i < numberOfHeaders; i++) {
+				headers.add(new AbstractMap.SimpleImmutableEntry<>(input.readUTF(), input.readUTF()));
+			}
+			byte[] body = new byte[input.readInt()];
+			input.readFully(body);
+			return new StoredResponse(status, reason, headers, body);
+		}
+
+		static void write(DataOutputStream output, Response response) throws IOException {
+			output.writeInt(response.status());
+			output.writeUTF(response.reason() != null ? response.reason() : "");
+			List<Map.Entry<String, String>> headers = new ArrayList<>();
+			response.headers().entrySet().stream().filter(header -> header.getKey() != null)
+					.forEach(header -> header.getValue().forEach(
+							value -> headers.add(new AbstractMap.SimpleImmutableEntry<>(header.getKey(), value))));
+			output.writeInt(headers.size());
+			for (Map.Entry<String, String> header : headers) {
+				output.writeUTF(header.getKey());
+				output.writeUTF(header.getValue());
+			}
+			byte[] body = response.binary();
+			output.writeInt(body.length);
+			output.write(body);
+		}
+
+		String header(String name) {
+			return ConditionalRequestWire.header(this.headers, name);
+		}
+
+	}
+
+}
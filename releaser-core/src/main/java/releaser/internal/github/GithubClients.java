@@ -0,0 +1,62 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import com.jcabi.github.Github;
+import com.jcabi.github.RtGithub;
+import com.jcabi.http.Request;
+import com.jcabi.http.wire.RetryWire;
+import releaser.internal.ReleaserProperties;
+
+/**
+ * Creates GitHub clients. Every request of a client is governed by the
+ * {@link GithubRateLimiter} shared by all the clients, retried on server errors and sent
+ * as a conditional request when its response is stored on disk.
+ *
+ * @author Marcin Grzejszczak
+ */
+public final class GithubClients {
+
+	private GithubClients() {
+		throw new IllegalStateException("Shouldn't instantiate a utility class");
+	}
+
+	/**
+	 * @param properties - releaser properties
+	 * @return GitHub client authenticated with the configured OAuth token, whose reads
+	 * are informational
+	 */
+	public static Github github(ReleaserProperties properties) {
+		return github(properties, GithubRateLimiter.Priority.INFORMATIONAL);
+	}
+
+	/**
+	 * @param properties - releaser properties
+	 * @param priority - priority of the client. All the requests of a release critical
+	 * client are release critical, for an informational one only the writes are
+	 * @return GitHub client authenticated with the configured OAuth token
+	 */
+	public static Github github(ReleaserProperties properties, GithubRateLimiter.Priority priority) {
+		Request entry = new RtGithub(properties.getGit().getOauthToken()).entry();
+		GithubRateLimiter limiter = GithubRateLimiter.of(properties);
+		if (limiter.isEnabled()) {
+			entry = entry.through(RateLimitedWire.class, limiter, priority);
+		}
+		return new RtGithub(ConditionalRequestWire.cached(entry.through(RetryWire.class), properties));
+	}
+
+}
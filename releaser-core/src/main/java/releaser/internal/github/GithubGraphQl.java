@@ -0,0 +1,259 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+import com.jcabi.github.Github;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.response.JsonResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fetches data of many repositories with GitHub's GraphQL API. Repositories are queried
+ * in batches, each batch being a single request with one aliased {@code repository} field
+ * per repository, so data that would take a REST request per page (and a request per
+ * milestone for its title) is fetched with a handful of requests for the whole release
+ * train. The requests go through the {@link Github#entry()} of the client, so they're
+ * authenticated and retried the same way the REST calls are.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class GithubGraphQl {
+
+	private static final Logger log = LoggerFactory.getLogger(GithubGraphQl.class);
+
+	/**
+	 * GitHub doesn't return more than that many nodes of a connection.
+	 */
+	static final int MAX_PAGE_SIZE = 100;
+
+	private final Github github;
+
+	private final int batchSize;
+
+	private final int pageSize;
+
+	/**
+	 * @param github - client whose entry point is used to send the queries
+	 * @param batchSize - number of repositories queried in a single request
+	 * @param pageSize - number of milestones fetched per repository
+	 */
+	GithubGraphQl(Github github, int batchSize, int pageSize) {
+		this.github = github;
+		this.batchSize = Math.max(1, batchSize);
+		this.pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, pageSize));
+	}
+
+	/**
+	 * @param owner - owner of the repositories
+	 * @param names - names of the repositories
+	 * @param sections - data to fetch for every repository
+	 * @return repositories by name. Repositories that don't exist or couldn't be fetched
+	 * are missing
+	 */
+	Map<String, Repository> repositories(String owner, Collection<String> names, Set<Section> sections) {
+		List<String> distinctNames = names.stream().distinct().collect(Collectors.toList());
+		Map<String, Repository> repositories = new LinkedHashMap<>();
+		for (int from = 0; from < distinctNames.size(); from += this.batchSize) {
+			List<String> batch = distinctNames.subList(from, Math.min(distinctNames.size(), from + this.batchSize));
+			repositories.putAll(fetch(owner, batch, sections));
+		}
+		return repositories;
+	}
+
+	private Map<String, Repository> fetch(String owner, List<String> names, Set<Section> sections) {
+		JsonObject response = post(query(names, sections), variables(owner, names));
+		logErrors(response);
+		JsonObject data = object(response, "data");
+		if (data == null) {
+			throw new IllegalStateException("GitHub returned no data for repositories " + names);
+		}
+		Map<String, Repository> repositories = new LinkedHashMap<>();
+		for (int i = 0; i < names.size(); i++) {
+			JsonObject repository = object(data, "r" + i);
+			if (repository != null) {
+				repositories.put(names.get(i), new Repository(repository));
+			}
+		}
+		return repositories;
+	}
+
+	String query(List<String> names, Set<Section> sections) {
+		StringBuilder query = new StringBuilder("query($owner: String!");
+		for (int i = 0; i < names.size(); i++) {
+			query.append(", $n").append(i).append(": String!");
+		}
+		query.append(") {");
+		String fields = sections.stream().map(section -> section.field(this.pageSize)).collect(Collectors.joining(" "));
+		for (int i = 0; i < names.size(); i++) {
+			query.append(" r").append(i).append(": repository(owner: $owner, name: $n").append(i).append(") { ")
+					.append(fields).append(" }");
+		}
+		return query.append(" }").toString();
+	}
+
+	private JsonObject variables(String owner, List<String> names) {
+		JsonObjectBuilder variables = Json.createObjectBuilder().add("owner", owner);
+		for (int i = 0; i < names.size(); i++) {
+			variables.add("n" + i, names.get(i));
+		}
+		return variables.build();
+	}
+
+	private JsonObject post(String query, JsonObject variables) {
+		String body = Json.createObjectBuilder().add("query", query).add("variables", variables).build().toString();
+		try {
+			Response response = this.github.entry().uri().path("/graphql").back().method(Request.POST)
+					.header("Content-Type", "application/json").body().set(body).back().fetch();
+			if (response.status() != HttpURLConnection.HTTP_OK) {
+				throw new IllegalStateException("GitHub GraphQL query failed with status [" + response.status()
+						+ "] and body [" + response.body() + "]");
+			}
+			return response.as(JsonResponse.class).json().readObject();
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private void logErrors(JsonObject response) {
+		JsonArray errors = response.getJsonArray("errors");
+		if (errors != null && !errors.isEmpty()) {
+			log.warn("GitHub GraphQL query returned errors {}", errors);
+		}
+	}
+
+	private static JsonObject object(JsonObject json, String key) {
+		JsonValue value = json.get(key);
+		return value instanceof JsonObject ? (JsonObject) value : null;
+	}
+
+	private static <T> List<T> nodes(JsonObject repository, String connection, Function<JsonObject, T> mapper) {
+		JsonObject nodes = object(repository, connection);
+		if (nodes == null) {
+			return Collections.emptyList();
+		}
+		List<T> result = new ArrayList<>();
+		for (JsonValue node : nodes.getJsonArray("nodes")) {
+			if (node instanceof JsonObject) {
+				result.add(mapper.apply((JsonObject) node));
+			}
+		}
+		return result;
+	}
+
+	private static String string(JsonObject json, String key) {
+		JsonValue value = json.get(key);
+		return value != null && value.getValueType() == JsonValue.ValueType.STRING ? json.getString(key) : null;
+	}
+
+	/**
+	 * Data that can be fetched for a repository.
+	 */
+	enum Section {
+
+		/**
+		 * Open milestones, the ones due last first.
+		 */
+		OPEN_MILESTONES("openMilestones: milestones(first: %d, states: [OPEN], "
+				+ "orderBy: {field: DUE_DATE, direction: DESC}) { nodes { number title state url } }"),
+
+		/**
+		 * Closed milestones, the ones due last first.
+		 */
+		CLOSED_MILESTONES("closedMilestones: milestones(first: %d, states: [CLOSED], "
+				+ "orderBy: {field: DUE_DATE, direction: DESC}) { nodes { number title state url } }");
+
+		static final Set<Section> ALL = Collections.unmodifiableSet(EnumSet.allOf(Section.class));
+
+		private final String field;
+
+		Section(String field) {
+			this.field = field;
+		}
+
+		String field(int pageSize) {
+			return String.format(this.field, pageSize);
+		}
+
+	}
+
+	/**
+	 * Data of a single repository. Sections that weren't fetched are empty.
+	 */
+	static final class Repository {
+
+		final List<Milestone> openMilestones;
+
+		final List<Milestone> closedMilestones;
+
+		Repository(JsonObject json) {
+			this.openMilestones = nodes(json, "openMilestones", Milestone::new);
+			this.closedMilestones = nodes(json, "closedMilestones", Milestone::new);
+		}
+
+	}
+
+	/**
+	 * A milestone of a repository.
+	 */
+	static final class Milestone {
+
+		final int number;
+
+		final String title;
+
+		/**
+		 * {@code OPEN} or {@code CLOSED}.
+		 */
+		final String state;
+
+		/**
+		 * Browser URL of the milestone.
+		 */
+		final String url;
+
+		Milestone(JsonObject json) {
+			this.number = json.getInt("number");
+			this.title = string(json, "title");
+			this.state = string(json, "state");
+			this.url = string(json, "url");
+		}
+
+	}
+
+}
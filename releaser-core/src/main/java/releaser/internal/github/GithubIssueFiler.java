@@ -17,19 +17,22 @@
 package releaser.internal.github;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.net.HttpURLConnection;
+
+import javax.json.JsonArray;
+import javax.json.JsonObject;
 
 import com.jcabi.github.Coordinates;
 import com.jcabi.github.Github;
-import com.jcabi.github.Issue;
 import com.jcabi.github.Repo;
-import com.jcabi.github.RtGithub;
-import com.jcabi.http.wire.RetryWire;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.response.JsonResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.project.ProjectVersion;
+import releaser.internal.tech.BoundedCache;
 
 import org.springframework.util.Assert;
 
@@ -42,13 +45,20 @@ public class GithubIssueFiler {
 
 	private static final Logger log = LoggerFactory.getLogger(GithubIssues.class);
 
+	private static final int MAX_PAGE_SIZE = 100;
+
 	private final Github github;
 
 	private final ReleaserProperties properties;
 
+	/**
+	 * Whether an issue with the given title is already filed in the repository. The filer
+	 * lives for the whole post-release, so each issue gets looked up at most once.
+	 */
+	private final BoundedCache<String, Boolean> filedIssues = BoundedCache.of("filed-github-issues");
+
 	public GithubIssueFiler(ReleaserProperties properties) {
-		this(new RtGithub(new RtGithub(properties.getGit().getOauthToken()).entry().through(RetryWire.class)),
-				properties);
+		this(GithubClients.github(properties, GithubRateLimiter.Priority.RELEASE_CRITICAL), properties);
 	}
 
 	public GithubIssueFiler(Github github, ReleaserProperties properties) {
@@ -79,6 +89,7 @@ public class GithubIssueFiler {
 		}
 		try {
 			int number = ghRepo.issues().create(issueTitle, issueText).number();
+			this.filedIssues.put(ghRepo.coordinates() + "/" + issueTitle, true);
 			log.info("Successfully created an issue with " + "title [{}] for the [{}/{}] GitHub repository" + number,
 					issueTitle, user, repo);
 		}
@@ -95,27 +106,41 @@ public class GithubIssueFiler {
 		return version;
 	}
 
-	private boolean issueAlreadyFiled(Repo springGuides, String issueTitle) {
-		Map<String, String> map = new HashMap<>();
-		map.put("state", "open");
-		int counter = 0;
-		int maxIssues = 10;
-		for (Issue issue : springGuides.issues().iterate(map)) {
-			if (counter >= maxIssues) {
-				return false;
-			}
-			Issue.Smart smartIssue = new Issue.Smart(issue);
-			try {
-				if (issueTitle.equals(smartIssue.title())) {
-					return true;
-				}
+	private boolean issueAlreadyFiled(Repo repo, String issueTitle) {
+		String key = repo.coordinates() + "/" + issueTitle;
+		Boolean filed = this.filedIssues.computeIfAbsent(key, k -> searchForIssue(repo.coordinates(), issueTitle));
+		return Boolean.TRUE.equals(filed);
+	}
+
+	/**
+	 * Searches for an open issue with the given title in the repository. The search is
+	 * scoped by the repository and the title and returns the titles of the found issues,
+	 * so a single request is enough no matter how many issues are open.
+	 * @param coordinates - coordinates of the repository
+	 * @param issueTitle - title of the issue
+	 * @return {@code true} if such an issue is already open, {@code null} if the search
+	 * failed and shouldn't be cached
+	 */
+	Boolean searchForIssue(Coordinates coordinates, String issueTitle) {
+		String query = "\"" + issueTitle.replace("\"", "") + "\" in:title is:issue is:open repo:" + coordinates;
+		try {
+			Response response = this.github.entry().uri().path("/search/issues").queryParam("q", query)
+					.queryParam("per_page", MAX_PAGE_SIZE).back().method(Request.GET).fetch();
+			if (response.status() != HttpURLConnection.HTTP_OK) {
+				log.warn("Searching for the issue [{}] failed with status [{}]", issueTitle, response.status());
+				return null;
 			}
-			catch (IOException e) {
+			JsonArray items = response.as(JsonResponse.class).json().readObject().getJsonArray("items");
+			if (items == null) {
 				return false;
 			}
-			counter = counter + 1;
+			return items.getValuesAs(JsonObject.class).stream()
+					.anyMatch(item -> issueTitle.equals(item.getString("title", null)));
+		}
+		catch (IOException e) {
+			log.warn("Exception occurred while trying to search for the issue [" + issueTitle + "]", e);
+			return null;
 		}
-		return false;
 	}
 
 }
@@ -17,21 +17,25 @@
 package releaser.internal.github;
 
 import java.io.IOException;
-import java.net.URL;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import com.jcabi.github.Coordinates;
 import com.jcabi.github.Github;
 import com.jcabi.github.Milestone;
-import com.jcabi.github.RtGithub;
-import com.jcabi.http.wire.RetryWire;
+import com.jcabi.github.Repo;
+import com.jcabi.github.RtValuePagination;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.project.ProjectVersion;
+import releaser.internal.tech.BoundedCache;
 
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
@@ -41,22 +45,43 @@ import org.springframework.util.StringUtils;
  */
 class GithubMilestones {
 
-	static final Map<ProjectVersion, String> MILESTONE_URL_CACHE = new ConcurrentHashMap<>();
-	static final Map<ProjectVersion, Milestone.Smart> MILESTONE_CACHE = new ConcurrentHashMap<>();
+	/**
+	 * Milestones change while a release train is being released (e.g. get closed), so
+	 * they are not kept for the whole run.
+	 */
+	static final BoundedCache<ProjectVersion, String> MILESTONE_URL_CACHE = BoundedCache.of("milestone-urls",
+			BoundedCache.DEFAULT_MAXIMUM_SIZE, Duration.ofMinutes(30));
+
+	static final BoundedCache<ProjectVersion, Milestone.Smart> MILESTONE_CACHE = BoundedCache.of("milestones",
+			BoundedCache.DEFAULT_MAXIMUM_SIZE, Duration.ofMinutes(30));
+
+	/**
+	 * Milestones of a repository by its owner and name.
+	 */
+	static final BoundedCache<String, MilestoneIndex> MILESTONE_INDEX_CACHE = BoundedCache.of("milestone-indexes",
+			BoundedCache.DEFAULT_MAXIMUM_SIZE, Duration.ofMinutes(30));
+
+	/**
+	 * GitHub doesn't return more than that many milestones per page.
+	 */
+	private static final int MAX_PAGE_SIZE = 100;
 
 	private static final Logger log = LoggerFactory.getLogger(GithubMilestones.class);
 
-	private final Github github;
+	private final CachingGithub github;
+
+	private final GithubGraphQl graphQl;
 
 	private final ReleaserProperties properties;
 
 	GithubMilestones(ReleaserProperties properties) {
-		this(new RtGithub(new RtGithub(properties.getGit().getOauthToken()).entry().through(RetryWire.class)),
-				properties);
+		this(GithubClients.github(properties, GithubRateLimiter.Priority.RELEASE_CRITICAL), properties);
 	}
 
 	GithubMilestones(Github github, ReleaserProperties properties) {
 		this.github = new CachingGithub(github);
+		this.graphQl = new GithubGraphQl(github, properties.getGit().getGithubGraphqlBatchSize(),
+				properties.getGit().getNumberOfCheckedMilestones());
 		this.properties = properties;
 	}
 
@@ -69,8 +94,10 @@ class GithubMilestones {
 		Milestone.Smart foundMilestone = MILESTONE_CACHE.get(version);
 		String tagVersion = version.version;
 		if (foundMilestone == null) {
-			foundMilestone = matchingMilestone(tagVersion, openMilestones(version));
-			if (foundMilestone != null) {
+			MilestoneIndex.Entry entry = milestoneIndex(version.projectName).matching(tagVersion, MilestoneIndex.OPEN,
+					this.properties.getGit().getNumberOfCheckedMilestones());
+			if (entry != null) {
+				foundMilestone = new Milestone.Smart(repo(version.projectName).milestones().get(entry.number));
 				MILESTONE_CACHE.put(version, foundMilestone);
 			}
 		}
@@ -78,6 +105,7 @@ class GithubMilestones {
 			try {
 				log.info("Found a matching milestone - closing it");
 				foundMilestone.close();
+				milestoneIndex(version.projectName).markClosed(foundMilestone.number());
 				log.info("Closed the [{}] milestone", tagVersion);
 			}
 			catch (IOException e) {
@@ -89,34 +117,6 @@ class GithubMilestones {
 		}
 	}
 
-	Milestone.Smart matchingMilestone(String tagVersion, Iterable<Milestone> milestones) {
-		log.debug("Successfully received list of milestones [{}]", milestones);
-		log.info("Will try to match against tag version [{}]", tagVersion);
-		try {
-			int counter = 0;
-			for (Milestone milestone : milestones) {
-				if (counter++ >= this.properties.getGit().getNumberOfCheckedMilestones()) {
-					log.warn(
-							"No matching milestones were found within the provided threshold [{}] of checked milestones",
-							this.properties.getGit().getNumberOfCheckedMilestones());
-					return null;
-				}
-				Milestone.Smart smartMilestone = new Milestone.Smart(milestone);
-				String title = milestoneTitle(smartMilestone);
-				if (tagVersion.equals(title) || numericVersion(tagVersion).equals(title)) {
-					log.info("Found a matching milestone [{}]", smartMilestone.number());
-					return smartMilestone;
-				}
-			}
-		}
-		catch (AssertionError | IOException e) {
-			log.error("Exception occurred while trying to retrieve the milestone", e);
-			return null;
-		}
-		log.warn("No matching milestones were found");
-		return null;
-	}
-
 	String milestoneUrl(ProjectVersion version) {
 		String cachedUrl = MILESTONE_URL_CACHE.get(version);
 		if (StringUtils.hasText(cachedUrl)) {
@@ -124,76 +124,130 @@ class GithubMilestones {
 		}
 		Assert.hasText(this.properties.getGit().getOauthToken(),
 				"You have to pass Github OAuth token for milestone closing to be operational");
-		String tagVersion = version.version;
-		Milestone.Smart foundMilestone = matchingMilestone(tagVersion, closedMilestones(version));
+		MilestoneIndex.Entry entry = milestoneIndex(version.projectName).matching(version.version,
+				MilestoneIndex.CLOSED, this.properties.getGit().getNumberOfCheckedMilestones());
 		String foundUrl = "";
-		if (foundMilestone != null) {
-			try {
-				URL url = foundMilestoneUrl(foundMilestone);
-				log.info("Found a matching milestone with issues URL [{}]", url);
-				foundUrl = url.toString().replace("https://api.github.com/repos", "https://github.com")
-						.replace("milestones", "milestone") + "?closed=1";
-			}
-			catch (IOException e) {
-				throw new IllegalStateException(e);
-			}
-			catch (Exception e) {
-				log.error("Exception occurred while trying to find milestone", e);
-			}
+		if (entry != null && StringUtils.hasText(entry.htmlUrl)) {
+			foundUrl = entry.htmlUrl + "?closed=1";
+			log.info("Found a matching milestone with issues URL [{}]", foundUrl);
 		}
 		MILESTONE_URL_CACHE.put(version, foundUrl);
 		return foundUrl;
 	}
 
-	private String numericVersion(String version) {
-		return version.contains("RELEASE") ? version.substring(0, version.lastIndexOf(".")) : "";
+	/**
+	 * Fetches the milestones of all the projects with batched GraphQL queries, so that
+	 * closing a milestone or looking up its URL for the release notes doesn't have to
+	 * list the milestones of every project separately. Projects that couldn't be fetched
+	 * get their milestones listed when they are needed.
+	 * @param versions - versions of projects
+	 */
+	void prefetchMilestoneUrls(Collection<ProjectVersion> versions) {
+		if (!StringUtils.hasText(this.properties.getGit().getOauthToken())
+				|| this.properties.getGit().getGithubGraphqlBatchSize() <= 0) {
+			return;
+		}
+		List<String> missing = versions.stream().map(version -> version.projectName).distinct()
+				.filter(name -> !MILESTONE_INDEX_CACHE.containsKey(indexKey(name))).collect(Collectors.toList());
+		if (missing.isEmpty()) {
+			return;
+		}
+		Map<String, GithubGraphQl.Repository> repositories;
+		try {
+			repositories = this.graphQl.repositories(org(), missing,
+					EnumSet.of(GithubGraphQl.Section.OPEN_MILESTONES, GithubGraphQl.Section.CLOSED_MILESTONES));
+		}
+		catch (IllegalStateException e) {
+			log.warn("Failed to fetch the milestones with a GraphQL query, will fetch them for each project", e);
+			return;
+		}
+		repositories.forEach((name, repository) -> {
+			List<GithubGraphQl.Milestone> milestones = new ArrayList<>(repository.openMilestones);
+			milestones.addAll(repository.closedMilestones);
+			MILESTONE_INDEX_CACHE.put(indexKey(name), MilestoneIndex.fromGraphQl(milestones));
+		});
+		log.info("Fetched milestones of [{}] projects with batched GraphQL queries", repositories.size());
 	}
 
-	String milestoneTitle(Milestone.Smart milestone) throws IOException {
-		return milestone.title();
+	/**
+	 * @param repo - name of the repository
+	 * @return milestones of the repository, fetched once per release run. Empty if they
+	 * couldn't be fetched
+	 */
+	MilestoneIndex milestoneIndex(String repo) {
+		MilestoneIndex index = MILESTONE_INDEX_CACHE.computeIfAbsent(indexKey(repo), key -> {
+			try {
+				List<MilestoneIndex.Entry> entries = listMilestones(repo);
+				log.debug("Successfully received list of milestones [{}]", entries);
+				return new MilestoneIndex(entries);
+			}
+			catch (AssertionError | IllegalStateException e) {
+				log.error("Exception occurred while trying to fetch milestones", e);
+				return null;
+			}
+		});
+		return index != null ? index : new MilestoneIndex(new ArrayList<>());
 	}
 
-	URL foundMilestoneUrl(Milestone.Smart milestone) throws IOException {
-		return milestone.url();
+	/**
+	 * Lists the open and closed milestones of the repository with a single paginated
+	 * request. Pages are fetched until the number of checked milestones of each state is
+	 * found, so the next page isn't requested once there are enough of them.
+	 * @param repo - name of the repository
+	 * @return milestones of the repository, the ones due last first
+	 */
+	List<MilestoneIndex.Entry> listMilestones(String repo) {
+		int threshold = this.properties.getGit().getNumberOfCheckedMilestones();
+		Map<String, String> params = new HashMap<>();
+		params.put("state", "all");
+		params.put("sort", "due_on");
+		params.put("direction", "desc");
+		params.put("per_page", String.valueOf(MAX_PAGE_SIZE));
+		Iterable<MilestoneIndex.Entry> milestones = new RtValuePagination<>(this.github.entry().uri().path("/repos")
+				.path(org()).path(repo).path("/milestones").queryParams(params).back(), MilestoneIndex.Entry::fromJson);
+		List<MilestoneIndex.Entry> entries = new ArrayList<>();
+		int open = 0;
+		int closed = 0;
+		for (MilestoneIndex.Entry entry : milestones) {
+			entries.add(entry);
+			if (MilestoneIndex.OPEN.equals(entry.state)) {
+				open++;
+			}
+			else {
+				closed++;
+			}
+			if (open >= threshold && closed >= threshold) {
+				break;
+			}
+		}
+		return entries;
 	}
 
-	private Iterable<Milestone> getMilestones(ProjectVersion version, Map<String, String> map) {
-		try {
-			return this.github.repos().get(new Coordinates.Simple(org(), version.projectName)).milestones()
-					.iterate(map);
-		}
-		catch (AssertionError e) {
-			log.error("Exception occurred while trying to fetch milestones", e);
-			return new ArrayList<>();
-		}
+	private Repo repo(String name) {
+		return this.github.repos().get(new Coordinates.Simple(org(), name));
 	}
 
-	private Iterable<Milestone> openMilestones(ProjectVersion version) {
-		return getMilestones(version, openMilestones());
+	private String indexKey(String repo) {
+		return org() + "/" + repo;
 	}
 
-	private Iterable<Milestone> closedMilestones(ProjectVersion version) {
-		return getMilestones(version, closedMilestones());
+	/**
+	 * Clears the milestones cached during the release run.
+	 */
+	void close() {
+		MILESTONE_CACHE.clear();
+		MILESTONE_URL_CACHE.clear();
+		MILESTONE_INDEX_CACHE.clear();
+		try {
+			this.github.close();
+		}
+		catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
 	}
 
 	String org() {
 		return this.properties.getGit().getOrgName();
 	}
 
-	private Map<String, String> openMilestones() {
-		Map<String, String> params = new HashMap<>();
-		params.put("state", "open");
-		params.put("sort", "due_on");
-		params.put("direction", "desc");
-		return params;
-	}
-
-	private Map<String, String> closedMilestones() {
-		Map<String, String> params = new HashMap<>();
-		params.put("state", "closed");
-		params.put("sort", "due_on");
-		params.put("direction", "desc");
-		return params;
-	}
-
 }
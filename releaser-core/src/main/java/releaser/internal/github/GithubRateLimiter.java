@@ -0,0 +1,396 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import releaser.internal.ReleaserProperties;
+
+/**
+ * Governs the rate of requests sent to GitHub by all the threads of the releaser. A
+ * request has to take a token from a bucket that refills at the configured rate, so
+ * parallel tasks don't trip GitHub's secondary rate limits. GitHub keeps a separate
+ * budget per resource ({@code core}, {@code search}, {@code graphql}), reported in the
+ * {@code X-RateLimit-*} headers, so the limiter tracks each of them on its own and a
+ * request is bounded by the budget of the resource its endpoint belongs to. Informational
+ * requests are paced, so that the part of a budget above the reserve lasts until the
+ * budget gets reset instead of being used up in a burst at the configured rate. Once a
+ * budget drops to the reserve, only release critical requests are sent to that resource
+ * until the budget gets reset; the informational ones wait. When GitHub asks to back off
+ * with a {@code Retry-After} header, no request is sent until that time passes. Requests
+ * that don't count against any budget (e.g. raw file downloads) only take a token.
+ *
+ * @author Marcin Grzejszczak
+ */
+public final class GithubRateLimiter {
+
+	private static final Logger log = LoggerFactory.getLogger(GithubRateLimiter.class);
+
+	/**
+	 * Resource of the REST API endpoints.
+	 */
+	static final String CORE = "core";
+
+	/**
+	 * Resource of the search endpoints.
+	 */
+	static final String SEARCH = "search";
+
+	/**
+	 * Resource of the GraphQL endpoint.
+	 */
+	static final String GRAPHQL = "graphql";
+
+	/**
+	 * Limiters by configuration. Not a {@link releaser.internal.tech.BoundedCache} on
+	 * purpose - there's one entry per configuration, and evicting a limiter would forget
+	 * the budgets reported by GitHub while other clients still send requests.
+	 */
+	private static final Map<String, GithubRateLimiter> CACHE = new ConcurrentHashMap<>();
+
+	/**
+	 * How long to wait for the budget when GitHub didn't say when it gets reset.
+	 */
+	private static final long UNKNOWN_RESET_WAIT_MILLIS = 60_000;
+
+	private final LongSupplier clock;
+
+	private final Sleeper sleeper;
+
+	private final double requestsPerSecond;
+
+	private final double reserve;
+
+	private double tokens;
+
+	private long lastRefill;
+
+	/**
+	 * Budgets reported by GitHub, by resource.
+	 */
+	private final Map<String, Budget> budgets = new HashMap<>();
+
+	/**
+	 * Epoch millis until which no request should be sent.
+	 */
+	private long pausedUntil;
+
+	GithubRateLimiter(LongSupplier clock, Sleeper sleeper, double requestsPerSecond, double reserve) {
+		this.clock = clock;
+		this.sleeper = sleeper;
+		this.requestsPerSecond = requestsPerSecond;
+		this.reserve = reserve;
+		this.tokens = Math.max(1, requestsPerSecond);
+		this.lastRefill = clock.getAsLong();
+	}
+
+	/**
+	 * @param properties - releaser properties
+	 * @return rate limiter shared by all the GitHub clients with the same configuration
+	 */
+	public static GithubRateLimiter of(ReleaserProperties properties) {
+		int requestsPerSecond = properties.getGit().getGithubRequestsPerSecond();
+		double reserve = properties.getGit().getGithubRateLimitReserve();
+		return CACHE.computeIfAbsent(requestsPerSecond + "/" + reserve,
+				s -> new GithubRateLimiter(System::currentTimeMillis, Thread::sleep, requestsPerSecond, reserve));
+	}
+
+	/**
+	 * @return {@code false} when requests should not be governed at all
+	 */
+	public boolean isEnabled() {
+		return this.requestsPerSecond > 0;
+	}
+
+	/**
+	 * @param home - URL of the request
+	 * @return resource whose budget the request counts against
+	 */
+	static String resource(String home) {
+		String path = URI.create(home).getPath();
+		if (path == null) {
+			return CORE;
+		}
+		if (path.startsWith("/search/")) {
+			return SEARCH;
+		}
+		if (path.equals("/graphql")) {
+			return GRAPHQL;
+		}
+		return CORE;
+	}
+
+	/**
+	 * Blocks until a request of the given priority may be sent to the given resource.
+	 * @param resource - resource whose budget the request counts against
+	 * @param priority - priority of the request
+	 */
+	public void acquire(String resource, Priority priority) {
+		await(resource, priority);
+	}
+
+	/**
+	 * Blocks until a request that doesn't count against any of the GitHub budgets (e.g.
+	 * fetching a raw file) may be sent. Only the rate of requests is governed.
+	 */
+	public void acquireToken() {
+		await(null, Priority.INFORMATIONAL);
+	}
+
+	private void await(String resource, Priority priority) {
+		if (!isEnabled()) {
+			return;
+		}
+		long waitMillis;
+		while ((waitMillis = tryAcquire(resource, priority)) > 0) {
+			if (log.isDebugEnabled()) {
+				log.debug("Will wait [{}] ms before sending a request of priority [{}] to GitHub resource [{}]",
+						waitMillis, priority, resource);
+			}
+			try {
+				this.sleeper.sleep(waitMillis);
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+
+	/**
+	 * @param resource - resource whose budget the request counts against, {@code null} if
+	 * it doesn't count against any
+	 * @param priority - priority of the request
+	 * @return {@code 0} if a token was taken, otherwise number of millis to wait before
+	 * trying again
+	 */
+	synchronized long tryAcquire(String resource, Priority priority) {
+		long now = this.clock.getAsLong();
+		refill(now);
+		Budget budget = null;
+		if (resource != null) {
+			if (now < this.pausedUntil) {
+				return this.pausedUntil - now;
+			}
+			budget = this.budgets.computeIfAbsent(resource, s -> new Budget());
+			budget.refresh(now);
+			long available = budget.remaining - reserve(budget, priority);
+			if (budget.remaining >= 0 && available <= 0) {
+				return budget.resetAt > now ? budget.resetAt - now : UNKNOWN_RESET_WAIT_MILLIS;
+			}
+			if (priority == Priority.INFORMATIONAL) {
+				long waitMillis = budget.pace(now, available, this.requestsPerSecond);
+				if (waitMillis > 0) {
+					return waitMillis;
+				}
+			}
+		}
+		if (this.tokens < 1) {
+			return Math.max(1, (long) Math.ceil((1 - this.tokens) * 1000 / this.requestsPerSecond));
+		}
+		this.tokens--;
+		if (budget != null) {
+			budget.take(priority);
+		}
+		return 0;
+	}
+
+	private void refill(long now) {
+		this.tokens = Math.min(Math.max(1, this.requestsPerSecond),
+				this.tokens + (now - this.lastRefill) * this.requestsPerSecond / 1000);
+		this.lastRefill = now;
+	}
+
+	private long reserve(Budget budget, Priority priority) {
+		return priority == Priority.RELEASE_CRITICAL ? 0 : (long) (budget.limit * this.reserve);
+	}
+
+	/**
+	 * Updates the budget of a resource with the headers of a GitHub response. The
+	 * resource reported by GitHub in the {@code X-RateLimit-Resource} header wins over
+	 * the one the request was sent to.
+	 * @param resource - resource the request was sent to
+	 * @param status - status of the response
+	 * @param headers - headers of the response
+	 */
+	public synchronized void update(String resource, int status, Map<String, List<String>> headers) {
+		if (!isEnabled()) {
+			return;
+		}
+		long now = this.clock.getAsLong();
+		String reported = header(headers, "X-RateLimit-Resource");
+		Budget budget = this.budgets.computeIfAbsent(reported != null ? reported.trim() : resource, s -> new Budget());
+		Long remaining = number(headers, "X-RateLimit-Remaining");
+		Long limit = number(headers, "X-RateLimit-Limit");
+		Long reset = number(headers, "X-RateLimit-Reset");
+		if (remaining != null) {
+			budget.remaining = remaining;
+		}
+		if (limit != null) {
+			budget.limit = limit;
+		}
+		if (reset != null) {
+			budget.resetAt = reset * 1000;
+		}
+		Long retryAfter = number(headers, "Retry-After");
+		if (retryAfter != null) {
+			this.pausedUntil = Math.max(this.pausedUntil, now + retryAfter * 1000);
+			log.warn("GitHub asked to back off, no requests will be sent for the next [{}] ms", this.pausedUntil - now);
+		}
+		else if (isRateLimited(status, headers)) {
+			budget.remaining = 0;
+			if (budget.resetAt <= now) {
+				budget.resetAt = now + UNKNOWN_RESET_WAIT_MILLIS;
+			}
+			log.warn("GitHub rate limit of resource [{}] was hit, no requests will be sent to it for the next [{}] ms",
+					reported != null ? reported.trim() : resource, budget.resetAt - now);
+		}
+	}
+
+	/**
+	 * @param status - status of a GitHub response
+	 * @param headers - headers of a GitHub response
+	 * @return {@code true} if the request got rejected because of a rate limit
+	 */
+	static boolean isRateLimited(int status, Map<String, List<String>> headers) {
+		if (status == 429) {
+			return true;
+		}
+		Long remaining = number(headers, "X-RateLimit-Remaining");
+		return status == 403 && (number(headers, "Retry-After") != null || (remaining != null && remaining == 0));
+	}
+
+	private static String header(Map<String, List<String>> headers, String name) {
+		return headers.entrySet().stream().filter(header -> name.equalsIgnoreCase(header.getKey()))
+				.flatMap(header -> header.getValue().stream()).findFirst().orElse(null);
+	}
+
+	private static Long number(Map<String, List<String>> headers, String name) {
+		String value = header(headers, name);
+		if (value == null) {
+			return null;
+		}
+		try {
+			return Long.parseLong(value.trim());
+		}
+		catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Priority of a request to GitHub.
+	 */
+	public enum Priority {
+
+		/**
+		 * Requests that change the state of the release (e.g. closing a milestone or
+		 * filing an issue). They may use up the whole budget.
+		 */
+		RELEASE_CRITICAL,
+
+		/**
+		 * Requests that only read data. They leave the reserve of the budget to the
+		 * release critical ones.
+		 */
+		INFORMATIONAL
+
+	}
+
+	/**
+	 * Budget of a single resource.
+	 */
+	private static final class Budget {
+
+		/**
+		 * Remaining budget, {@code -1} if GitHub didn't report it yet.
+		 */
+		private long remaining = -1;
+
+		private long limit;
+
+		/**
+		 * Epoch millis at which the budget gets reset, {@code 0} if unknown.
+		 */
+		private long resetAt;
+
+		/**
+		 * Tokens of the informational requests, refilled at the rate that spreads the
+		 * budget left to them until the reset.
+		 */
+		private double tokens = 1;
+
+		private long lastRefill;
+
+		private void refresh(long now) {
+			if (this.resetAt > 0 && now >= this.resetAt) {
+				this.remaining = -1;
+				this.resetAt = 0;
+			}
+		}
+
+		/**
+		 * @param now - current epoch millis
+		 * @param available - budget left to the request
+		 * @param maxRequestsPerSecond - configured maximum rate
+		 * @return {@code 0} if an informational request may be sent without using up the
+		 * budget before the reset, otherwise number of millis to wait
+		 */
+		private long pace(long now, long available, double maxRequestsPerSecond) {
+			if (this.remaining < 0 || this.resetAt <= now) {
+				this.lastRefill = now;
+				return 0;
+			}
+			double rate = Math.min(maxRequestsPerSecond, available * 1000.0 / (this.resetAt - now));
+			if (this.lastRefill > 0) {
+				this.tokens = Math.min(Math.max(1, rate), this.tokens + (now - this.lastRefill) * rate / 1000);
+			}
+			this.lastRefill = now;
+			if (this.tokens >= 1) {
+				return 0;
+			}
+			return Math.max(1, (long) Math.ceil((1 - this.tokens) * 1000 / rate));
+		}
+
+		private void take(Priority priority) {
+			if (priority == Priority.INFORMATIONAL && this.tokens >= 1) {
+				this.tokens--;
+			}
+			if (this.remaining > 0) {
+				this.remaining--;
+			}
+		}
+
+	}
+
+	/**
+	 * Waits for the given number of millis.
+	 */
+	interface Sleeper {
+
+		void sleep(long millis) throws InterruptedException;
+
+	}
+
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.json.JsonObject;
+import javax.json.JsonValue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Milestones of a single repository, with everything that's needed to find, close and
+ * link a milestone. The index is fetched once and shared by all the operations on the
+ * milestones of the repository, so finding a milestone doesn't take a request per checked
+ * milestone.
+ *
+ * @author Marcin Grzejszczak
+ */
+final class MilestoneIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(MilestoneIndex.class);
+
+	/**
+	 * State of an open milestone.
+	 */
+	static final String OPEN = "open";
+
+	/**
+	 * State of a closed milestone.
+	 */
+	static final String CLOSED = "closed";
+
+	private final List<Entry> entries;
+
+	/**
+	 * @param entries - milestones of the repository, the ones due last first
+	 */
+	MilestoneIndex(List<Entry> entries) {
+		this.entries = new CopyOnWriteArrayList<>(entries);
+	}
+
+	/**
+	 * @param tagVersion - version of the project
+	 * @param state - state of the milestone
+	 * @param threshold - number of milestones in the given state that get checked
+	 * @return milestone whose title is the version or its numeric part for GA versions,
+	 * {@code null} if there is none
+	 */
+	Entry matching(String tagVersion, String state, int threshold) {
+		log.info("Will try to match against tag version [{}]", tagVersion);
+		String numericVersion = numericVersion(tagVersion);
+		int counter = 0;
+		for (Entry entry : this.entries) {
+			if (!state.equals(entry.state)) {
+				continue;
+			}
+			if (counter++ >= threshold) {
+				log.warn("No matching milestones were found within the provided threshold [{}] of checked milestones",
+						threshold);
+				return null;
+			}
+			if (tagVersion.equals(entry.title) || numericVersion.equals(entry.title)) {
+				log.info("Found a matching milestone [{}]", entry.number);
+				return entry;
+			}
+		}
+		log.warn("No matching milestones were found");
+		return null;
+	}
+
+	/**
+	 * Updates the state of a milestone that got closed.
+	 * @param number - number of the milestone
+	 */
+	void markClosed(int number) {
+		for (int i = 0; i < this.entries.size(); i++) {
+			Entry entry = this.entries.get(i);
+			if (entry.number == number) {
+				this.entries.set(i, new Entry(entry.number, entry.title, CLOSED, entry.htmlUrl));
+			}
+		}
+	}
+
+	private static String numericVersion(String version) {
+		return version.contains("RELEASE") ? version.substring(0, version.lastIndexOf(".")) : "";
+	}
+
+	/**
+	 * @param milestones - milestones fetched with a GraphQL query
+	 * @return index of the milestones
+	 */
+	static MilestoneIndex fromGraphQl(List<GithubGraphQl.Milestone> milestones) {
+		List<Entry> entries = new ArrayList<>();
+		for (GithubGraphQl.Milestone milestone : milestones) {
+			entries.add(new Entry(milestone.number, milestone.title,
+					milestone.state != null ? milestone.state.toLowerCase(Locale.ROOT) : null, milestone.url));
+		}
+		return new MilestoneIndex(entries);
+	}
+
+	/**
+	 * A milestone of the repository.
+	 */
+	static final class Entry {
+
+		final int number;
+
+		final String title;
+
+		/**
+		 * {@link #OPEN} or {@link #CLOSED}.
+		 */
+		final String state;
+
+		/**
+		 * Browser URL of the milestone.
+		 */
+		final String htmlUrl;
+
+		Entry(int number, String title, String state, String htmlUrl) {
+			this.number = number;
+			this.title = title;
+			this.state = state;
+			this.htmlUrl = htmlUrl;
+		}
+
+		/**
+		 * @param json - milestone returned by the REST API
+		 * @return entry of the milestone
+		 */
+		static Entry fromJson(JsonObject json) {
+			return new Entry(json.getInt("number"), string(json, "title"), string(json, "state"),
+					string(json, "html_url"));
+		}
+
+		private static String string(JsonObject json, String key) {
+			JsonValue value = json.get(key);
+			return value != null && value.getValueType() == JsonValue.ValueType.STRING ? json.getString(key) : null;
+		}
+
+		@Override
+		public String toString() {
+			return "Entry{" + "number=" + this.number + ", title='" + this.title + '\'' + ", state='" + this.state
+					+ '\'' + '}';
+		}
+
+	}
+
+}
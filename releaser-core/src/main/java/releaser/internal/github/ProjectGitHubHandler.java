@@ -16,6 +16,7 @@
 
 package releaser.internal.github;
 
+import java.io.Closeable;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -30,7 +31,7 @@ import releaser.internal.tech.TemporaryFileStorage;
  *
  * @author Marcin Grzejszczak
  */
-public class ProjectGitHubHandler {
+public class ProjectGitHubHandler implements Closeable {
 
 	private static final Logger log = LoggerFactory.getLogger(ProjectGitHubHandler.class);
 
@@ -82,4 +83,19 @@ public class ProjectGitHubHandler {
 		return this.githubMilestones.milestoneUrl(releaseVersion);
 	}
 
+	/**
+	 * Fetches the closed milestones of all the projects at once, so that subsequent
+	 * {@link #milestoneUrl(ProjectVersion)} calls for these projects don't have to go to
+	 * GitHub.
+	 * @param projects - projects whose milestone URLs will be needed
+	 */
+	public void prefetchMilestoneUrls(Projects projects) {
+		this.githubMilestones.prefetchMilestoneUrls(projects);
+	}
+
+	@Override
+	public void close() {
+		this.githubMilestones.close();
+	}
+
 }
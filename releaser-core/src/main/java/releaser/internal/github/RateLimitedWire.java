@@ -0,0 +1,94 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+
+/**
+ * Sends every request through a {@link GithubRateLimiter} and feeds the limiter with the
+ * rate limit headers of the responses. Each request counts against the budget of the
+ * resource its endpoint belongs to. Every request of a release critical client (e.g. the
+ * one that closes milestones) is release critical, including the reads the writes depend
+ * on. For the other clients, reads (including GraphQL queries) are informational and all
+ * the other requests are release critical. A request rejected because of a rate limit is
+ * sent again once the limiter allows it, instead of being retried right away.
+ *
+ * @author Marcin Grzejszczak
+ */
+public final class RateLimitedWire implements Wire {
+
+	/**
+	 * Number of times a request is sent before a rate limited response is returned.
+	 */
+	static final int MAX_ATTEMPTS = 3;
+
+	private final Wire origin;
+
+	private final GithubRateLimiter limiter;
+
+	private final GithubRateLimiter.Priority priority;
+
+	/**
+	 * @param origin - wire that sends the requests
+	 * @param limiter - limiter shared by all the GitHub clients
+	 * @param priority - priority of the client, with
+	 * {@link GithubRateLimiter.Priority#INFORMATIONAL} the priority of each request
+	 * depends on its method
+	 */
+	public RateLimitedWire(Wire origin, GithubRateLimiter limiter, GithubRateLimiter.Priority priority) {
+		this.origin = origin;
+		this.limiter = limiter;
+		this.priority = priority;
+	}
+
+	@Override
+	public Response send(Request req, String home, String method, Collection<Map.Entry<String, String>> headers,
+			InputStream content, int connect, int read) throws IOException {
+		String resource = GithubRateLimiter.resource(home);
+		GithubRateLimiter.Priority priority = this.priority == GithubRateLimiter.Priority.RELEASE_CRITICAL
+				? GithubRateLimiter.Priority.RELEASE_CRITICAL : priority(home, method);
+		boolean resendable = content.markSupported();
+		if (resendable) {
+			content.mark(Integer.MAX_VALUE);
+		}
+		for (int attempt = 1;; attempt++) {
+			this.limiter.acquire(resource, priority);
+			Response response = this.origin.send(req, home, method, headers, content, connect, read);
+			this.limiter.update(resource, response.status(), response.headers());
+			if (attempt >= MAX_ATTEMPTS || !resendable
+					|| !GithubRateLimiter.isRateLimited(response.status(), response.headers())) {
+				return response;
+			}
+			content.reset();
+		}
+	}
+
+	static GithubRateLimiter.Priority priority(String home, String method) {
+		if (Request.GET.equals(method) || Request.HEAD.equals(method) || home.endsWith("/graphql")) {
+			return GithubRateLimiter.Priority.INFORMATIONAL;
+		}
+		return GithubRateLimiter.Priority.RELEASE_CRITICAL;
+	}
+
+}
@@ -67,6 +67,9 @@ public class ProjectVersion implements Comparable<ProjectVersion>, Serializable
 			Pattern.compile(MILESTONE_REGEX), Pattern.compile(RC_REGEX), Pattern.compile(RELEASE_REGEX),
 			Pattern.compile(SR_REGEX));
 
+	private static final List<Pattern> GA_UNACCEPTABLE_PATTERNS = Collections.unmodifiableList(
+			Arrays.asList(SNAPSHOT_PATTERN, Pattern.compile(MILESTONE_REGEX), Pattern.compile(RC_REGEX)));
+
 	/**
 	 * Name of the project.
 	 */
@@ -640,7 +643,7 @@ public class ProjectVersion implements Comparable<ProjectVersion>, Serializable
 			return Collections.singletonList(SNAPSHOT_PATTERN);
 		}
 		// treat like GA
-		return Arrays.asList(SNAPSHOT_PATTERN, Pattern.compile(MILESTONE_REGEX), Pattern.compile(RC_REGEX));
+		return GA_UNACCEPTABLE_PATTERNS;
 	}
 
 	@Override
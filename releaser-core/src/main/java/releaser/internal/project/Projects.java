@@ -18,9 +18,12 @@ package releaser.internal.project;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -28,22 +31,41 @@ import java.util.stream.Collectors;
 import releaser.internal.ReleaserProperties;
 
 /**
- * Abstraction over collection of projects.
+ * Abstraction over collection of projects. Projects are looked up by name through an
+ * index that is built on the first lookup and dropped whenever the collection changes.
  *
  * @author Marcin Grzejszczak
  */
 public class Projects extends HashSet<ProjectVersion> {
 
+	/**
+	 * {@code true} for a read only snapshot of projects.
+	 */
+	private final boolean immutable;
+
+	/**
+	 * Projects by name.
+	 */
+	private transient volatile Map<String, ProjectVersion> index;
+
 	public Projects(Set<ProjectVersion> versions) {
+		this.immutable = false;
 		addAll(versions);
 	}
 
+	private Projects(Set<ProjectVersion> versions, boolean immutable) {
+		versions.forEach(super::add);
+		this.immutable = immutable;
+	}
+
 	@SuppressWarnings("unchecked")
 	public Projects(ProjectVersion... versions) {
+		this.immutable = false;
 		addAll(new HashSet<>(Arrays.stream(versions).filter(Objects::nonNull).collect(Collectors.toList())));
 	}
 
 	public Projects(List<ProjectVersion> versions) {
+		this.immutable = false;
 		addAll(versions.stream().filter(Objects::nonNull).collect(Collectors.toList()));
 	}
 
@@ -78,22 +100,97 @@ public class Projects extends HashSet<ProjectVersion> {
 	}
 
 	public ProjectVersion releaseTrain(ReleaserProperties properties) {
-		return stream()
-				.filter(version -> version.projectName.equals(properties.getMetaRelease().getReleaseTrainProjectName())
-						|| properties.getMetaRelease().getReleaseTrainDependencyNames().contains(version.projectName))
-				.findFirst()
+		Map<String, ProjectVersion> index = index();
+		ProjectVersion releaseTrain = index.get(properties.getMetaRelease().getReleaseTrainProjectName());
+		if (releaseTrain != null) {
+			return releaseTrain;
+		}
+		return properties.getMetaRelease().getReleaseTrainDependencyNames().stream().map(index::get)
+				.filter(Objects::nonNull).findFirst()
 				.orElseThrow(() -> new IllegalStateException(
 						"Projects " + this + " don't contain any of the following release train names ["
 								+ properties.getMetaRelease().getReleaseTrainProjectName() + "] or "
 								+ properties.getMetaRelease().getReleaseTrainDependencyNames()));
 	}
 
+	/**
+	 * @return a read only copy of the projects that can be safely shared between threads
+	 */
+	public Projects snapshot() {
+		if (this.immutable) {
+			return this;
+		}
+		return new Projects(this, true);
+	}
+
 	@Override
 	public boolean add(ProjectVersion projectVersion) {
 		if (projectVersion == null) {
 			return false;
 		}
-		return super.add(projectVersion);
+		assertMutable();
+		return changed(super.add(projectVersion));
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		assertMutable();
+		return changed(super.remove(o));
+	}
+
+	@Override
+	public void clear() {
+		assertMutable();
+		super.clear();
+		this.index = null;
+	}
+
+	@Override
+	public Iterator<ProjectVersion> iterator() {
+		Iterator<ProjectVersion> iterator = super.iterator();
+		return new Iterator<ProjectVersion>() {
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public ProjectVersion next() {
+				return iterator.next();
+			}
+
+			@Override
+			public void remove() {
+				assertMutable();
+				iterator.remove();
+				Projects.this.index = null;
+			}
+		};
+	}
+
+	private void assertMutable() {
+		if (this.immutable) {
+			throw new UnsupportedOperationException("This is a read only snapshot of projects");
+		}
+	}
+
+	private boolean changed(boolean changed) {
+		if (changed) {
+			this.index = null;
+		}
+		return changed;
+	}
+
+	private Map<String, ProjectVersion> index() {
+		Map<String, ProjectVersion> index = this.index;
+		if (index == null) {
+			index = new HashMap<>();
+			for (ProjectVersion projectVersion : this) {
+				index.putIfAbsent(projectVersion.projectName, projectVersion);
+			}
+			this.index = index;
+		}
+		return index;
 	}
 
 	public Projects filter(List<String> projectsToSkip) {
@@ -121,18 +218,19 @@ public class Projects extends HashSet<ProjectVersion> {
 	}
 
 	public ProjectVersion forFile(File projectRoot) {
-		final ProjectVersion thisProject = new ProjectVersion(projectRoot);
-		return this.stream().filter(projectVersion -> projectVersion.projectName.equals(thisProject.projectName))
-				.findFirst().orElseThrow(() -> exception(this, thisProject.projectName));
+		return forName(new ProjectVersion(projectRoot).projectName);
 	}
 
 	public ProjectVersion forName(String projectName) {
-		return this.stream().filter(projectVersion -> projectVersion.projectName.equals(projectName)).findFirst()
-				.orElseThrow(() -> exception(this, projectName));
+		ProjectVersion projectVersion = index().get(projectName);
+		if (projectVersion == null) {
+			throw exception(this, projectName);
+		}
+		return projectVersion;
 	}
 
 	public boolean containsProject(String projectName) {
-		return this.stream().anyMatch(projectVersion -> projectVersion.projectName.equals(projectName));
+		return index().containsKey(projectName);
 	}
 
 	public List<ProjectVersion> forNameStartingWith(String projectName) {
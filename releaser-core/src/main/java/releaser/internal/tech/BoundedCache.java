@@ -0,0 +1,286 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.tech;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache with a maximum size and a time to live of its entries. Once the cache is full,
+ * the least recently used entry gets evicted. Expired entries are never returned. Like
+ * with a {@link ConcurrentHashMap}, {@code null} values are not stored and a value is
+ * computed at most once per key. The caches are scoped to a release run - their owners
+ * clear them when they get closed, which also logs the hit and miss statistics.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ * @author Marcin Grzejszczak
+ */
+public final class BoundedCache<K, V> {
+
+	private static final Logger log = LoggerFactory.getLogger(BoundedCache.class);
+
+	/**
+	 * Default maximum number of entries.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	/**
+	 * Default time to live of an entry. Long enough for a whole release train to get
+	 * released.
+	 */
+	public static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(6);
+
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	private final String name;
+
+	private final int maximumSize;
+
+	private final long timeToLiveNanos;
+
+	private final LongSupplier clock;
+
+	private final AtomicLong hits = new AtomicLong();
+
+	private final AtomicLong misses = new AtomicLong();
+
+	private final AtomicLong evictions = new AtomicLong();
+
+	BoundedCache(String name, int maximumSize, Duration timeToLive, LongSupplier clock) {
+		this.name = name;
+		this.maximumSize = Math.max(1, maximumSize);
+		this.timeToLiveNanos = timeToLive.toNanos();
+		this.clock = clock;
+	}
+
+	/**
+	 * @param name - name of the cache, used in the logs
+	 * @param maximumSize - maximum number of entries
+	 * @param timeToLive - time after which an entry expires
+	 * @param <K> type of keys
+	 * @param <V> type of values
+	 * @return a new cache
+	 */
+	public static <K, V> BoundedCache<K, V> of(String name, int maximumSize, Duration timeToLive) {
+		return new BoundedCache<>(name, maximumSize, timeToLive, System::nanoTime);
+	}
+
+	/**
+	 * @param name - name of the cache, used in the logs
+	 * @param <K> type of keys
+	 * @param <V> type of values
+	 * @return a new cache with the default size and time to live
+	 */
+	public static <K, V> BoundedCache<K, V> of(String name) {
+		return of(name, DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+	}
+
+	/**
+	 * @param key - key of the value
+	 * @return cached value or {@code null} if there is none or it expired
+	 */
+	public V get(K key) {
+		long now = this.clock.getAsLong();
+		Entry<V> entry = this.entries.get(key);
+		if (entry == null || expire(key, entry, now)) {
+			this.misses.incrementAndGet();
+			return null;
+		}
+		this.hits.incrementAndGet();
+		entry.lastAccess = now;
+		return entry.value;
+	}
+
+	/**
+	 * @param key - key of the value
+	 * @return {@code true} if there is a value that didn't expire. Doesn't count as a hit
+	 * or a miss
+	 */
+	public boolean containsKey(K key) {
+		Entry<V> entry = this.entries.get(key);
+		return entry != null && !expire(key, entry, this.clock.getAsLong());
+	}
+
+	/**
+	 * @param key - key of the value
+	 * @param loader - computes the value if there is none or it expired
+	 * @return cached or computed value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+		V cached = get(key);
+		if (cached != null) {
+			return cached;
+		}
+		Entry<V> entry = this.entries.compute(key, (k, existing) -> {
+			long now = this.clock.getAsLong();
+			if (existing != null && now - existing.createdAt < this.timeToLiveNanos) {
+				return existing;
+			}
+			V value = loader.apply(k);
+			return value != null ? new Entry<>(value, now) : null;
+		});
+		evictIfFull();
+		return entry != null ? entry.value : null;
+	}
+
+	/**
+	 * @param key - key of the value
+	 * @param value - value to cache
+	 */
+	public void put(K key, V value) {
+		this.entries.put(key, new Entry<>(value, this.clock.getAsLong()));
+		evictIfFull();
+	}
+
+	/**
+	 * @param key - key of the value to remove
+	 */
+	public void remove(K key) {
+		this.entries.remove(key);
+	}
+
+	/**
+	 * @param consumer - consumes all the entries that didn't expire
+	 */
+	public void forEach(BiConsumer<? super K, ? super V> consumer) {
+		long now = this.clock.getAsLong();
+		this.entries.forEach((key, entry) -> {
+			if (now - entry.createdAt < this.timeToLiveNanos) {
+				consumer.accept(key, entry.value);
+			}
+		});
+	}
+
+	/**
+	 * @return number of entries, including the ones that expired but weren't removed yet
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Removes all the entries and logs the statistics of the cache.
+	 */
+	public void clear() {
+		if (log.isDebugEnabled() && (this.hits.get() > 0 || this.misses.get() > 0)) {
+			log.debug("Clearing cache [{}] with [{}] entries, {}", this.name, this.entries.size(), stats());
+		}
+		this.entries.clear();
+	}
+
+	/**
+	 * @return statistics of the cache since it got created
+	 */
+	public Stats stats() {
+		return new Stats(this.hits.get(), this.misses.get(), this.evictions.get());
+	}
+
+	private boolean expire(K key, Entry<V> entry, long now) {
+		if (now - entry.createdAt < this.timeToLiveNanos) {
+			return false;
+		}
+		if (this.entries.remove(key, entry)) {
+			this.evictions.incrementAndGet();
+		}
+		return true;
+	}
+
+	private void evictIfFull() {
+		while (this.entries.size() > this.maximumSize) {
+			Map.Entry<K, Entry<V>> eldest = null;
+			for (Map.Entry<K, Entry<V>> entry : this.entries.entrySet()) {
+				if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+					eldest = entry;
+				}
+			}
+			if (eldest == null) {
+				return;
+			}
+			if (this.entries.remove(eldest.getKey(), eldest.getValue())) {
+				this.evictions.incrementAndGet();
+			}
+		}
+	}
+
+	/**
+	 * Statistics of a cache.
+	 */
+	public static final class Stats {
+
+		/**
+		 * Number of lookups that returned a cached value.
+		 */
+		public final long hits;
+
+		/**
+		 * Number of lookups that didn't find a value.
+		 */
+		public final long misses;
+
+		/**
+		 * Number of entries removed because the cache was full or they expired.
+		 */
+		public final long evictions;
+
+		Stats(long hits, long misses, long evictions) {
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+		}
+
+		/**
+		 * @return ratio of lookups that returned a cached value
+		 */
+		public double hitRate() {
+			long lookups = this.hits + this.misses;
+			return lookups == 0 ? 1.0 : (double) this.hits / lookups;
+		}
+
+		@Override
+		public String toString() {
+			return "hits=" + this.hits + ", misses=" + this.misses + ", evictions=" + this.evictions + ", hitRate="
+					+ String.format("%.2f", hitRate());
+		}
+
+	}
+
+	private static final class Entry<V> {
+
+		final V value;
+
+		final long createdAt;
+
+		volatile long lastAccess;
+
+		Entry(V value, long now) {
+			this.value = value;
+			this.createdAt = now;
+			this.lastAccess = now;
+		}
+
+	}
+
+}
@@ -17,28 +17,42 @@
 package releaser.internal.tech;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
 import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
 
 import org.apache.maven.model.Model;
 import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 
 /**
- * Class that reads poms as {@link Model}.
+ * Class that reads poms as {@link Model}. Parsed poms are cached by their path, size and
+ * modification time, so a pom that didn't change is parsed only once.
  *
  * @author Marcin Grzejszczak
  */
 public final class PomReader {
 
+	/**
+	 * Parsed poms by canonical path.
+	 */
+	private static final BoundedCache<String, CachedModel> CACHE = BoundedCache.of("parsed-poms");
+
+	/**
+	 * Worst case precision of the file modification time. A file modified within that
+	 * time before it got read could be modified again without a change of its size and
+	 * modification time.
+	 */
+	private static final long MODIFICATION_TIME_PRECISION_MILLIS = 1000L;
+
 	private PomReader() {
 		throw new IllegalStateException("Shouldn't instantiate a utility class");
 	}
 
 	/**
-	 * Returns a parsed POM.
+	 * Returns a parsed POM. The model is a copy, it can be modified by the caller.
 	 * @param file location to the pom
 	 * @return parsed model
 	 */
@@ -50,16 +64,38 @@ public final class PomReader {
 		if (!pom.exists()) {
 			return null;
 		}
-		String fileText = "";
-		try (Reader reader = new FileReader(pom)) {
-			if (file.isFile()) {
-				fileText = new String(Files.readAllBytes(file.toPath()));
+		try {
+			String path = pom.getCanonicalPath();
+			BasicFileAttributes attributes = Files.readAttributes(pom.toPath(), BasicFileAttributes.class);
+			long size = attributes.size();
+			long lastModified = attributes.lastModifiedTime().toMillis();
+			CachedModel cached = CACHE.get(path);
+			if (cached != null && cached.isUpToDate(size, lastModified)) {
+				return cached.model.clone();
 			}
+			long readAt = System.currentTimeMillis();
+			Model model = readPom(pom, new String(Files.readAllBytes(pom.toPath())));
+			CACHE.put(path, new CachedModel(model.clone(), size, lastModified, readAt));
+			return model;
+		}
+		catch (IOException e) {
+			throw new IllegalStateException("Failed to read file: " + pom.getAbsolutePath(), e);
+		}
+	}
+
+	/**
+	 * Returns a POM parsed from already read contents of the file.
+	 * @param pom location of the pom, used for error reporting
+	 * @param fileText contents of the pom
+	 * @return parsed model
+	 */
+	public static Model readPom(File pom, String fileText) {
+		try (Reader reader = new StringReader(fileText)) {
 			MavenXpp3Reader xpp3Reader = new MavenXpp3Reader();
 			return xpp3Reader.read(reader);
 		}
 		catch (XmlPullParserException | IOException e) {
-			if (file.isFile() && fileText.length() == 0) {
+			if (fileText.length() == 0) {
 				throw new IllegalStateException("File [" + pom.getAbsolutePath() + "] is empty", e);
 			}
 			throw new IllegalStateException("Failed to read file: " + pom.getAbsolutePath(), e);
@@ -77,4 +113,40 @@ public final class PomReader {
 		return PomReader.readPom(pomFile);
 	}
 
+	/**
+	 * Removes all the parsed poms.
+	 */
+	public static void clear() {
+		CACHE.clear();
+	}
+
+	private static final class CachedModel {
+
+		private final Model model;
+
+		private final long size;
+
+		private final long lastModified;
+
+		private final long readAt;
+
+		private CachedModel(Model model, long size, long lastModified, long readAt) {
+			this.model = model;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.readAt = readAt;
+		}
+
+		/**
+		 * Like git's racily clean index entries - if the file was modified just before it
+		 * got read, the same size and modification time don't prove that it didn't change
+		 * since, so such an entry is never trusted.
+		 */
+		private boolean isUpToDate(long size, long lastModified) {
+			return this.size == size && this.lastModified == lastModified
+					&& lastModified + MODIFICATION_TIME_PRECISION_MILLIS < this.readAt;
+		}
+
+	}
+
 }
@@ -37,15 +37,18 @@ class NotesGenerator {
 	}
 
 	Set<Notes> fromProjects(Projects projects) {
-		return projects.stream().filter(projectVersion -> !projectVersion.projectName.toLowerCase().contains("boot"))
-				.map(projectVersion -> {
-					String name = projectVersion.projectName;
-					String version = projectVersion.version;
-					String closedMilestoneUrl = this.handler.milestoneUrl(projectVersion);
-					String convertedName = Arrays.stream(name.split("-")).map(StringUtils::capitalize)
-							.collect(Collectors.joining(" "));
-					return new Notes(convertedName, version, closedMilestoneUrl);
-				}).collect(Collectors.toSet());
+		Projects projectsWithNotes = projects.stream()
+				.filter(projectVersion -> !projectVersion.projectName.toLowerCase().contains("boot"))
+				.collect(Collectors.toCollection(Projects::new));
+		this.handler.prefetchMilestoneUrls(projectsWithNotes);
+		return projectsWithNotes.stream().map(projectVersion -> {
+			String name = projectVersion.projectName;
+			String version = projectVersion.version;
+			String closedMilestoneUrl = this.handler.milestoneUrl(projectVersion);
+			String convertedName = Arrays.stream(name.split("-")).map(StringUtils::capitalize)
+					.collect(Collectors.joining(" "));
+			return new Notes(convertedName, version, closedMilestoneUrl);
+		}).collect(Collectors.toSet());
 	}
 
 }
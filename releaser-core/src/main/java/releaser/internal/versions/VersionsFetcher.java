@@ -24,9 +24,8 @@ import java.io.InputStreamReader;
 import java.net.URL;
 import java.net.URLConnection;
 import java.nio.charset.StandardCharsets;
-import java.util.Map;
+import java.time.Duration;
 import java.util.Properties;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import io.spring.initializr.metadata.BillOfMaterials;
@@ -35,8 +34,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.buildsystem.ProjectPomUpdater;
+import releaser.internal.github.GithubRateLimiter;
 import releaser.internal.project.ProjectVersion;
 import releaser.internal.project.Projects;
+import releaser.internal.tech.BoundedCache;
 
 import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
 import org.springframework.boot.context.properties.bind.Binder;
@@ -63,7 +64,8 @@ public class VersionsFetcher implements Closeable {
 	public VersionsFetcher(ReleaserProperties properties, ProjectPomUpdater projectPomUpdater) {
 		this.properties = properties;
 		this.projectPomUpdater = projectPomUpdater;
-		this.toPropertiesConverter = new ToPropertiesConverter(new RawGithubRetriever());
+		this.toPropertiesConverter = new ToPropertiesConverter(
+				new RawGithubRetriever(GithubRateLimiter.of(properties)));
 	}
 
 	/**
@@ -137,9 +139,16 @@ class RawGithubRetriever {
 
 	private static final Logger LOG = LoggerFactory.getLogger(RawGithubRetriever.class);
 
+	private final GithubRateLimiter limiter;
+
+	RawGithubRetriever(GithubRateLimiter limiter) {
+		this.limiter = limiter;
+	}
+
 	String raw(String stringUrl) {
 		try {
 			URL url = new URL(stringUrl);
+			this.limiter.acquireToken();
 			URLConnection con = url.openConnection();
 			try (BufferedReader reader = new BufferedReader(
 					new InputStreamReader(con.getInputStream(), StandardCharsets.UTF_8))) {
@@ -156,7 +165,12 @@ class RawGithubRetriever {
 
 class ToPropertiesConverter implements Closeable {
 
-	private static final Map<String, InitializrProperties> CACHE = new ConcurrentHashMap<>();
+	/**
+	 * The file with all the versions changes when a release gets published, so it's not
+	 * kept for the whole run.
+	 */
+	private static final BoundedCache<String, InitializrProperties> CACHE = BoundedCache.of("initializr-versions",
+			BoundedCache.DEFAULT_MAXIMUM_SIZE, Duration.ofMinutes(30));
 
 	private final RawGithubRetriever rawGithubRetriever;
 
@@ -36,6 +36,7 @@ import releaser.internal.project.ProjectVersion;
 import releaser.internal.project.Projects;
 import releaser.internal.tech.PomReader;
 
+import org.springframework.boot.test.system.OutputCaptureRule;
 import org.springframework.util.FileSystemUtils;
 
 import static org.assertj.core.api.BDDAssertions.then;
@@ -48,6 +49,9 @@ public class PomUpdateAcceptanceTests {
 	@Rule
 	public TemporaryFolder tmp = new TemporaryFolder();
 
+	@Rule
+	public OutputCaptureRule capture = new OutputCaptureRule();
+
 	File temporaryFolder;
 
 	@Before
@@ -85,6 +89,47 @@ public class PomUpdateAcceptanceTests {
 		then(zipkinStreamPom.getParent().getVersion()).isEqualTo("1.2.0.BUILD-SNAPSHOT");
 	}
 
+	@Test
+	public void should_reuse_versions_parsed_from_the_same_commit_of_the_bom() throws Exception {
+		ReleaserProperties releaserProperties = releaserProperties();
+		File cacheDir = this.tmp.newFolder();
+		releaserProperties.getPom().setBomVersionsCacheDir(cacheDir.getAbsolutePath());
+		ProjectPomUpdater projectPomUpdater = new ProjectPomUpdater(releaserProperties,
+				Collections.singletonList(MavenBomParserAccessor.maven(releaserProperties)));
+		projectPomUpdater.close();
+		Projects projects = projectPomUpdater.retrieveVersionsFromReleaseTrainBom();
+		projectPomUpdater.close();
+
+		Projects cachedProjects = projectPomUpdater.retrieveVersionsFromReleaseTrainBom();
+
+		then(cacheDir.list()).hasSize(1);
+		then(cachedProjects).containsExactlyInAnyOrderElementsOf(projects);
+	}
+
+	@Test
+	public void should_leave_poms_untouched_when_updating_again_with_the_same_versions() throws Exception {
+		ReleaserProperties releaserProperties = releaserProperties();
+		ProjectPomUpdater projectPomUpdater = new ProjectPomUpdater(releaserProperties,
+				Collections.singletonList(MavenBomParserAccessor.maven(releaserProperties)));
+		Projects projects = projectPomUpdater.retrieveVersionsFromReleaseTrainBom();
+		File project = new File(this.temporaryFolder, "/spring-cloud-sleuth");
+		projectPomUpdater.updateProjectFromReleaseTrain(project, projects, projects.forFile(project), true);
+		String rootPomAfterFirstUpdate = asString(tmpFile("/spring-cloud-sleuth/pom.xml"));
+		String corePomAfterFirstUpdate = asString(tmpFile("/spring-cloud-sleuth/spring-cloud-sleuth-core/pom.xml"));
+		then(this.capture.toString()).containsPattern("Processed \\[\\d+\\] poms, \\[0\\] of them were up to date");
+
+		projectPomUpdater.updateProjectFromReleaseTrain(project, projects, projects.forFile(project), true);
+
+		then(this.capture.toString()).containsPattern(
+				"Processed \\[(\\d+)\\] poms, \\[\\1\\] of them were up to date with the manifest, \\[0\\] will be stored");
+
+		then(asString(tmpFile("/spring-cloud-sleuth/pom.xml"))).isEqualTo(rootPomAfterFirstUpdate);
+		then(asString(tmpFile("/spring-cloud-sleuth/spring-cloud-sleuth-core/pom.xml")))
+				.isEqualTo(corePomAfterFirstUpdate);
+		then(PomReader.readPom(tmpFile("/spring-cloud-sleuth/pom.xml")).getProperties())
+				.containsEntry("spring-cloud-commons.version", "1.2.0.BUILD-SNAPSHOT");
+	}
+
 	@Test
 	public void should_not_fail_when_after_updating_a_release_version_there_still_is_a_snapshot_version()
 			throws Exception {
@@ -114,11 +159,14 @@ public class PomUpdateAcceptanceTests {
 				Collections.singletonList(MavenBomParserAccessor.maven(releaserProperties)));
 		Projects projects = projectPomUpdater.retrieveVersionsFromReleaseTrainBom();
 		File project = new File(this.temporaryFolder, "/spring-cloud-sleuth-with-unmatched-property");
+		String rootPom = asString(new File(project, "pom.xml"));
 
 		BDDAssertions
 				.thenThrownBy(() -> projectPomUpdater.updateProjectFromReleaseTrain(project, projects,
 						projects.forFile(project), true))
 				.hasMessageContaining("<version>0.3.1.BUILD-SNAPSHOT</version>");
+		then(asString(new File(project, "pom.xml"))).as("no pom is stored when any of them is invalid")
+				.isEqualTo(rootPom);
 	}
 
 	@Test
@@ -17,14 +17,20 @@
 package releaser.internal;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
 import java.util.function.Supplier;
 
 import org.assertj.core.api.BDDAssertions;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.BDDMockito;
 import org.mockito.Mock;
@@ -32,6 +38,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 import releaser.SpringCloudReleaserProperties;
 import releaser.internal.buildsystem.GradleUpdater;
 import releaser.internal.buildsystem.ProjectPomUpdater;
+import releaser.internal.buildsystem.StagedChanges;
 import releaser.internal.docs.DocumentationUpdater;
 import releaser.internal.git.ProjectGitHandler;
 import releaser.internal.github.ProjectGitHubHandler;
@@ -45,6 +52,7 @@ import releaser.internal.template.TemplateGenerator;
 import org.springframework.boot.test.system.OutputCaptureRule;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.BDDMockito.then;
 import static org.mockito.Mockito.never;
 
@@ -57,6 +65,9 @@ public class ReleaserTests {
 	@Rule
 	public OutputCaptureRule outputCapture = new OutputCaptureRule();
 
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
 	@Mock
 	ProjectPomUpdater projectPomUpdater;
 
@@ -109,6 +120,30 @@ public class ReleaserTests {
 				this.saganUpdater, this.documentationUpdater, this.postReleaseActions);
 	}
 
+	@Test
+	public void should_not_store_any_pom_when_updating_gradle_properties_failed() throws IOException {
+		File project = this.tmp.newFolder("spring-cloud-foo");
+		Path rootPom = new File(project, "pom.xml").toPath();
+		String pomContents = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+				+ "<project xmlns=\"http://maven.apache.org/POM/4.0.0\"><modelVersion>4.0.0</modelVersion>"
+				+ "<groupId>org.springframework.cloud</groupId><artifactId>spring-cloud-foo</artifactId>"
+				+ "<version>1.0.0.BUILD-SNAPSHOT</version></project>\n";
+		Files.write(rootPom, pomContents.getBytes(StandardCharsets.UTF_8));
+		ReleaserProperties properties = SpringCloudReleaserProperties.get();
+		Releaser releaser = new Releaser(properties, new ProjectPomUpdater(properties, Collections.emptyList()),
+				this.projectCommandExecutor, this.projectGitHandler, this.projectGitHubHandler, this.templateGenerator,
+				this.gradleUpdater, this.saganUpdater, this.documentationUpdater, this.postReleaseActions);
+		BDDMockito.willThrow(new IllegalStateException("gradle.properties contains a snapshot version"))
+				.given(this.gradleUpdater).updateProjectFromReleaseTrain(any(ReleaserProperties.class), any(File.class),
+						any(Projects.class), any(ProjectVersion.class), anyBoolean(), any(StagedChanges.class));
+		ProjectVersion version = new ProjectVersion("spring-cloud-foo", "2.0.0.RELEASE");
+
+		BDDAssertions.thenThrownBy(() -> releaser.updateProjectFromBom(project, new Projects(version), version))
+				.hasMessageContaining("gradle.properties contains a snapshot version");
+
+		BDDAssertions.then(new String(Files.readAllBytes(rootPom), StandardCharsets.UTF_8)).isEqualTo(pomContents);
+	}
+
 	@Test
 	public void should_not_bump_versions_for_original_release_project() {
 		releaser(() -> new ProjectVersion("original", "1.0.0.RELEASE")).rollbackReleaseVersion(this.pom,
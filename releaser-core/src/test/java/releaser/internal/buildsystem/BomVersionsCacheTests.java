@@ -0,0 +1,66 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import releaser.internal.ReleaserProperties;
+import releaser.internal.project.Project;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class BomVersionsCacheTests {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void should_read_stored_versions() throws IOException {
+		BomVersionsCache cache = new BomVersionsCache(this.tmp.newFolder().toPath());
+
+		cache.store("key", new HashSet<>(Arrays.asList(new Project("spring-cloud-sleuth", "1.0.0.RELEASE"),
+				new Project("spring-cloud-release", "Dalston.SR3"))));
+
+		then(cache.read("key")).containsExactlyInAnyOrder(new Project("spring-cloud-sleuth", "1.0.0.RELEASE"),
+				new Project("spring-cloud-release", "Dalston.SR3"));
+		then(cache.read("other-key")).isNull();
+	}
+
+	@Test
+	public void should_change_the_key_when_commit_or_configuration_changes() {
+		ReleaserProperties properties = new ReleaserProperties();
+		properties.getPom().setThisTrainBom("spring-cloud-dependencies/pom.xml");
+		String key = BomVersionsCache.key("abc", properties, Collections.emptyList());
+
+		then(BomVersionsCache.key("abc", properties, Collections.emptyList())).isEqualTo(key);
+		then(BomVersionsCache.key("def", properties, Collections.emptyList())).isNotEqualTo(key);
+		then(BomVersionsCache.key("abc", properties, Collections.singletonList(CustomBomParser.NO_OP)))
+				.isNotEqualTo(key);
+		properties.getPom().setIgnoredPomRegex(Collections.singletonList(".*samples.*"));
+		then(BomVersionsCache.key("abc", properties, Collections.emptyList())).isNotEqualTo(key);
+	}
+
+}
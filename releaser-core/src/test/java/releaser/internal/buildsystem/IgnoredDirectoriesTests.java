@@ -0,0 +1,61 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class IgnoredDirectoriesTests {
+
+	Path root = Paths.get("/tmp/project");
+
+	IgnoredDirectories ignoredDirectories = new IgnoredDirectories(this.root,
+			Arrays.asList(".git", "target", "docs/src/main/*"));
+
+	@Test
+	public void should_ignore_directories_matching_by_name_at_any_depth() {
+		then(this.ignoredDirectories.isIgnored(this.root.resolve(".git"))).isTrue();
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("target"))).isTrue();
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("module/target"))).isTrue();
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("module/target-platform"))).isFalse();
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("module/src"))).isFalse();
+	}
+
+	@Test
+	public void should_ignore_directories_matching_by_relative_path() {
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("docs/src/main/asciidoc"))).isTrue();
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("docs/src/test/asciidoc"))).isFalse();
+		then(this.ignoredDirectories.isIgnored(this.root.resolve("module/docs/src/main/asciidoc"))).isFalse();
+	}
+
+	@Test
+	public void should_never_ignore_the_root() {
+		then(new IgnoredDirectories(this.root, Collections.singletonList("project")).isIgnored(this.root)).isFalse();
+		then(new IgnoredDirectories(this.root, Collections.emptyList()).isIgnored(this.root.resolve("target")))
+				.isFalse();
+	}
+
+}
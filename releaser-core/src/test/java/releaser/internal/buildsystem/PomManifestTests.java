@@ -0,0 +1,82 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class PomManifestTests {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	File project;
+
+	Path pom;
+
+	@Before
+	public void setup() throws IOException {
+		this.project = this.tmp.newFolder();
+		new File(this.project, ".git").mkdirs();
+		this.pom = new File(this.project, "module/pom.xml").toPath();
+	}
+
+	@Test
+	public void should_treat_a_pom_as_up_to_date_when_inputs_and_contents_did_not_change() {
+		PomManifest.load(this.project, "versions").store(Collections.singletonMap(this.pom, "content"));
+
+		then(PomManifest.load(this.project, "versions").isUpToDate(this.pom, "content")).isTrue();
+		then(new File(this.project, ".git/releaser-pom-manifest.properties")).exists();
+	}
+
+	@Test
+	public void should_not_treat_a_pom_as_up_to_date_when_inputs_changed() {
+		PomManifest.load(this.project, "versions").store(Collections.singletonMap(this.pom, "content"));
+
+		then(PomManifest.load(this.project, "other versions").isUpToDate(this.pom, "content")).isFalse();
+	}
+
+	@Test
+	public void should_not_treat_a_pom_as_up_to_date_when_contents_changed() {
+		PomManifest.load(this.project, "versions").store(Collections.singletonMap(this.pom, "content"));
+
+		then(PomManifest.load(this.project, "versions").isUpToDate(this.pom, "other content")).isFalse();
+		then(PomManifest.load(this.project, "versions").isUpToDate(new File(this.project, "pom.xml").toPath(),
+				"content")).isFalse();
+	}
+
+	@Test
+	public void should_never_treat_a_pom_as_up_to_date_when_disabled() {
+		PomManifest.disabled().store(Collections.singletonMap(this.pom, "content"));
+
+		then(PomManifest.disabled().isUpToDate(this.pom, "content")).isFalse();
+		then(new File(this.project, ".git/releaser-pom-manifest.properties")).doesNotExist();
+	}
+
+}
@@ -18,13 +18,17 @@ package releaser.internal.buildsystem;
 
 import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Files;
 
 import org.apache.maven.model.Model;
 import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import releaser.internal.git.GitRepoTests;
 import releaser.internal.tech.PomReader;
 
@@ -36,6 +40,9 @@ import static org.assertj.core.api.BDDAssertions.thenThrownBy;
  */
 public class PomReaderTests {
 
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
 	File springCloudReleaseProjectPom;
 
 	File springCloudReleaseProject;
@@ -69,6 +76,50 @@ public class PomReaderTests {
 		then(pom.getArtifactId()).isEqualTo("spring-cloud-starter-build");
 	}
 
+	@Test
+	public void should_return_a_copy_of_a_cached_pom() throws IOException {
+		File pom = pom("foo", System.currentTimeMillis() - 10_000);
+
+		PomReader.readPom(pom).setArtifactId("changed");
+
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("foo");
+	}
+
+	@Test
+	public void should_parse_the_pom_again_when_it_got_modified() throws IOException {
+		long lastModified = System.currentTimeMillis() - 10_000;
+		File pom = pom("foo", lastModified);
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("foo");
+
+		pom("bar", lastModified + 1000);
+
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("bar");
+	}
+
+	@Test
+	public void should_not_trust_the_modification_time_of_a_pom_modified_just_before_reading_it() throws IOException {
+		long lastModified = System.currentTimeMillis();
+		File pom = pom("foo", lastModified);
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("foo");
+
+		pom("bar", lastModified);
+
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("bar");
+	}
+
+	@Test
+	public void should_parse_the_pom_again_once_the_cache_got_cleared() throws IOException {
+		long lastModified = System.currentTimeMillis() - 10_000;
+		File pom = pom("foo", lastModified);
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("foo");
+		pom("bar", lastModified);
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("foo");
+
+		PomReader.clear();
+
+		then(PomReader.readPom(pom).getArtifactId()).isEqualTo("bar");
+	}
+
 	@Test
 	public void should_return_null_when_file_is_missing() {
 		then(PomReader.readPom(new File("foo/bar"))).isNull();
@@ -86,4 +137,12 @@ public class PomReaderTests {
 				.hasMessageContaining("] is empty").hasCauseInstanceOf(EOFException.class);
 	}
 
+	private File pom(String artifactId, long lastModified) throws IOException {
+		File pom = new File(this.tmp.getRoot(), "pom.xml");
+		Files.write(pom.toPath(), ("<project><modelVersion>4.0.0</modelVersion><groupId>com.example</groupId>"
+				+ "<artifactId>" + artifactId + "</artifactId><version>1.0.0</version></project>").getBytes());
+		then(pom.setLastModified(lastModified)).isTrue();
+		return pom;
+	}
+
 }
@@ -387,6 +387,18 @@ public class PomUpdaterTests {
 		BDDAssertions.then(asString(storedPom)).isEqualTo(asString(originalPom));
 	}
 
+	@Test
+	public void should_keep_the_read_contents_in_sync_with_the_stored_pom() throws Exception {
+		File pomInTemp = tmpFile("/project/pom_matching_artifact.xml");
+		ModelWrapper rootPom = model("spring-cloud-sleuth");
+		ModelWrapper model = this.pomUpdater.updateModel(rootPom, pomInTemp, this.versionsFromBom);
+		String readContent = model.content.toString();
+
+		File storedPom = this.pomUpdater.overwritePomIfDirty(model, this.versionsFromBom, pomInTemp);
+
+		BDDAssertions.then(model.content.toString()).isNotEqualTo(readContent).isEqualTo(asString(storedPom));
+	}
+
 	Set<Project> projects() {
 		Set<Project> projects = new HashSet<>();
 		projects.add(new Project("spring-boot", "0.0.1"));
@@ -17,21 +17,39 @@
 package releaser.internal.buildsystem;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
+import org.apache.maven.model.Model;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.BDDMockito;
 import releaser.SpringCloudReleaserProperties;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.git.ProjectGitHandler;
 import releaser.internal.project.ProjectVersion;
 import releaser.internal.project.Projects;
+import releaser.internal.tech.PomReader;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 
 /**
  * @author Marcin Grzejszczak
  */
 public class ProjectPomUpdaterTests {
 
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
 	@Test
 	public void should_skip_any_steps_if_there_is_no_pom_xml() {
 		ReleaserProperties properties = SpringCloudReleaserProperties.get();
@@ -44,4 +62,99 @@ public class ProjectPomUpdaterTests {
 		BDDMockito.then(handler).shouldHaveNoInteractions();
 	}
 
+	@Test
+	public void should_join_the_outcomes_in_the_order_of_the_poms() {
+		List<Path> poms = poms(20);
+
+		List<ProjectPomUpdater.PomUpdate> updates = ProjectPomUpdater.updateConcurrently(poms, pom -> {
+			// the poms that come first take the longest to update
+			sleep(20 - poms.indexOf(pom));
+			return update(pom, null);
+		});
+
+		then(updates.stream().map(update -> update.pom).collect(Collectors.toList())).isEqualTo(poms);
+	}
+
+	@Test
+	public void should_rethrow_the_failure_of_the_first_failed_pom() {
+		List<Path> poms = poms(20);
+		IllegalStateException first = new IllegalStateException("first");
+		IllegalStateException last = new IllegalStateException("last");
+
+		thenThrownBy(() -> ProjectPomUpdater.updateConcurrently(poms, pom -> {
+			if (pom.equals(poms.get(3))) {
+				// fails after the later pom already failed
+				sleep(100);
+				return update(pom, first);
+			}
+			return update(pom, pom.equals(poms.get(15)) ? last : null);
+		})).isSameAs(first);
+	}
+
+	@Test
+	public void should_update_all_modules_of_a_project_concurrently() throws IOException {
+		File project = this.tmp.newFolder("spring-cloud-foo");
+		int modules = 16;
+		StringBuilder moduleNames = new StringBuilder();
+		for (int i = 0; i < modules; i++) {
+			moduleNames.append("<module>module-").append(i).append("</module>");
+			File module = new File(project, "module-" + i);
+			module.mkdirs();
+			write(new File(module, "pom.xml"),
+					pom("<parent><groupId>org.springframework.cloud</groupId>"
+							+ "<artifactId>spring-cloud-foo</artifactId><version>1.0.0.BUILD-SNAPSHOT</version>"
+							+ "<relativePath>..</relativePath></parent><artifactId>module-" + i + "</artifactId>"));
+		}
+		write(new File(project, "pom.xml"),
+				pom("<groupId>org.springframework.cloud</groupId><artifactId>spring-cloud-foo</artifactId>"
+						+ "<version>1.0.0.BUILD-SNAPSHOT</version><packaging>pom</packaging><modules>" + moduleNames
+						+ "</modules><properties><spring-cloud-bar.version>1.0.0.BUILD-SNAPSHOT"
+						+ "</spring-cloud-bar.version></properties>"));
+		ReleaserProperties properties = SpringCloudReleaserProperties.get();
+		ProjectPomUpdater updater = new ProjectPomUpdater(properties, Collections.emptyList());
+		Projects projects = new Projects(new ProjectVersion("spring-cloud-foo", "2.0.0.RELEASE"),
+				new ProjectVersion("spring-cloud-bar", "3.0.0.RELEASE"));
+
+		updater.updateProjectFromReleaseTrain(project, projects,
+				new ProjectVersion("spring-cloud-foo", "2.0.0.RELEASE"), false);
+
+		Model root = PomReader.readPom(new File(project, "pom.xml"));
+		then(root.getVersion()).isEqualTo("2.0.0.RELEASE");
+		then(root.getProperties()).containsEntry("spring-cloud-bar.version", "3.0.0.RELEASE");
+		for (int i = 0; i < modules; i++) {
+			then(PomReader.readPom(new File(project, "module-" + i + "/pom.xml")).getParent().getVersion())
+					.isEqualTo("2.0.0.RELEASE");
+		}
+	}
+
+	private List<Path> poms(int count) {
+		List<Path> poms = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			poms.add(Paths.get(String.format("module-%02d", i), "pom.xml"));
+		}
+		return poms;
+	}
+
+	private ProjectPomUpdater.PomUpdate update(Path pom, IllegalStateException failure) {
+		return new ProjectPomUpdater.PomUpdate(pom, false, false, null, null, failure);
+	}
+
+	private String pom(String content) {
+		return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<project xmlns=\"http://maven.apache.org/POM/4.0.0\">"
+				+ "<modelVersion>4.0.0</modelVersion>" + content + "</project>\n";
+	}
+
+	private void write(File file, String content) throws IOException {
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
 }
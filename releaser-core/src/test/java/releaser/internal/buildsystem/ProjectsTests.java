@@ -65,6 +65,37 @@ public class ProjectsTests {
 		then(projects.containsProject("spring-cloud-starter-build")).isTrue();
 	}
 
+	@Test
+	public void should_find_projects_added_and_not_find_projects_removed_after_a_lookup() {
+		Projects projects = new Projects(new ProjectVersion("spring-cloud-starter-build", "1.0.0"));
+		then(projects.containsProject("spring-cloud-sleuth")).isFalse();
+
+		projects.add(new ProjectVersion("spring-cloud-sleuth", "2.0.0"));
+
+		then(projects.forName("spring-cloud-sleuth").version).isEqualTo("2.0.0");
+
+		projects.removeIf(projectVersion -> projectVersion.projectName.equals("spring-cloud-sleuth"));
+
+		then(projects.containsProject("spring-cloud-sleuth")).isFalse();
+		then(projects.forName("spring-cloud-starter-build").version).isEqualTo("1.0.0");
+	}
+
+	@Test
+	public void should_return_a_read_only_snapshot() {
+		Projects projects = new Projects(new ProjectVersion("spring-cloud-starter-build", "1.0.0"));
+
+		Projects snapshot = projects.snapshot();
+		projects.add(new ProjectVersion("spring-cloud-sleuth", "2.0.0"));
+
+		then(snapshot).containsExactly(new ProjectVersion("spring-cloud-starter-build", "1.0.0"));
+		then(snapshot.snapshot()).isSameAs(snapshot);
+		thenThrownBy(() -> snapshot.add(new ProjectVersion("spring-cloud-sleuth", "2.0.0")))
+				.isInstanceOf(UnsupportedOperationException.class);
+		thenThrownBy(() -> snapshot.remove("spring-cloud-starter-build"))
+				.isInstanceOf(UnsupportedOperationException.class);
+		thenThrownBy(() -> snapshot.removeIf(projectVersion -> true)).isInstanceOf(UnsupportedOperationException.class);
+	}
+
 	@Test
 	public void should_find_projects_starting_with_name() {
 		Set<ProjectVersion> projectVersions = new HashSet<>();
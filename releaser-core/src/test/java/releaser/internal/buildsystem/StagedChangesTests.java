@@ -0,0 +1,126 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class StagedChangesTests {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void should_store_all_the_staged_changes_on_flush() throws IOException {
+		Path first = file("first/pom.xml", "first");
+		Path second = file("second/pom.xml", "second");
+		StagedChanges changes = new StagedChanges();
+
+		changes.stage(first, "changed first");
+		changes.stage(second, "changed second");
+
+		then(asString(first)).isEqualTo("first");
+		then(changes.size()).isEqualTo(2);
+
+		changes.flush();
+
+		then(asString(first)).isEqualTo("changed first");
+		then(asString(second)).isEqualTo("changed second");
+		then(first.getParent().toFile().list()).containsExactly("pom.xml");
+		then(changes.size()).isZero();
+	}
+
+	@Test
+	public void should_not_change_any_file_when_storing_any_of_the_changes_failed() throws IOException {
+		Path first = file("first/pom.xml", "first");
+		Path missing = this.tmp.getRoot().toPath().resolve("missing/pom.xml");
+		StagedChanges changes = new StagedChanges();
+		changes.stage(first, "changed first");
+		changes.stage(missing, "changed missing");
+
+		thenThrownBy(changes::flush).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Failed to store the changes");
+
+		then(asString(first)).isEqualTo("first");
+		then(first.getParent().toFile().list()).containsExactly("pom.xml");
+	}
+
+	@Test
+	public void should_clean_up_and_report_the_replaced_files_when_replacing_a_file_failed() throws IOException {
+		Path first = file("first/pom.xml", "first");
+		Path second = file("second/pom.xml/module/pom.xml", "not a file").getParent().getParent();
+		Path third = file("third/pom.xml", "third");
+		StagedChanges changes = new StagedChanges();
+		changes.stage(first, "changed first");
+		changes.stage(second, "changed second");
+		changes.stage(third, "changed third");
+
+		thenThrownBy(changes::flush).isInstanceOf(IllegalStateException.class)
+				.hasMessageContaining("Failed to store the changes of file [" + second + "]")
+				.hasMessageContaining("The following files were already replaced [" + first + "]");
+
+		then(asString(first)).isEqualTo("changed first");
+		then(asString(third)).isEqualTo("third");
+		then(first.getParent().toFile().list()).containsExactly("pom.xml");
+		then(second.getParent().toFile().list()).containsExactly("pom.xml");
+		then(third.getParent().toFile().list()).containsExactly("pom.xml");
+	}
+
+	@Test
+	public void should_call_the_callbacks_once_the_changes_got_stored() throws IOException {
+		Path first = file("first/pom.xml", "first");
+		StagedChanges changes = new StagedChanges();
+		changes.stage(first, "changed first");
+		StringBuilder contentsOnCallback = new StringBuilder();
+		changes.afterFlush(() -> {
+			try {
+				contentsOnCallback.append(asString(first));
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		});
+
+		changes.flush();
+
+		then(contentsOnCallback.toString()).isEqualTo("changed first");
+	}
+
+	private Path file(String relativePath, String contents) throws IOException {
+		File file = new File(this.tmp.getRoot(), relativePath);
+		file.getParentFile().mkdirs();
+		Files.write(file.toPath(), contents.getBytes());
+		return file.toPath();
+	}
+
+	private String asString(Path path) throws IOException {
+		return new String(Files.readAllBytes(path));
+	}
+
+}
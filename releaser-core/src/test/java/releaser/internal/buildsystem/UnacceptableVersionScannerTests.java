@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.buildsystem;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Test;
+import releaser.internal.project.ProjectVersion;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class UnacceptableVersionScannerTests {
+
+	UnacceptableVersionScanner scanner = new UnacceptableVersionScanner(
+			new ProjectVersion("foo", "1.0.0.RELEASE").unacceptableVersionPatterns(),
+			Collections.singletonList("^[\\s]*<!--.*-->.*$"), "@releaser:version-check-off");
+
+	@Test
+	public void should_find_the_first_line_with_an_unacceptable_version() {
+		String text = "<project>\r\n<version>1.0.0.RELEASE</version>\r\n<foo.version>1.0.0.M1</foo.version>\r\n"
+				+ "<bar.version>1.0.0.BUILD-SNAPSHOT</bar.version>\r\n</project>";
+
+		Optional<UnacceptableVersionScanner.Match> match = this.scanner.firstMatch(text);
+
+		then(match).isPresent();
+		then(match.get().lineNumber).isEqualTo(3);
+		then(match.get().line).isEqualTo("<foo.version>1.0.0.M1</foo.version>");
+		then(match.get().pattern.pattern()).contains("M[0-9]+");
+	}
+
+	@Test
+	public void should_skip_ignored_lines() {
+		String text = "<project>\n  <!-- <version>1.0.0.BUILD-SNAPSHOT</version> -->\n"
+				+ "<version>1.0.0.RC1</version> <!-- @releaser:version-check-off -->\n"
+				+ "<bar.version>1.0.0-SNAPSHOT</bar.version>\n</project>";
+
+		Optional<UnacceptableVersionScanner.Match> match = this.scanner.firstMatch(text);
+
+		then(match).isPresent();
+		then(match.get().lineNumber).isEqualTo(4);
+		then(match.get().line).isEqualTo("<bar.version>1.0.0-SNAPSHOT</bar.version>");
+	}
+
+	@Test
+	public void should_not_find_anything_when_all_versions_are_acceptable() {
+		then(this.scanner.firstMatch("<project>\n<version>1.0.0.RELEASE</version>\n</project>\n")).isEmpty();
+		then(new UnacceptableVersionScanner(
+				new ProjectVersion("foo", "1.0.0.BUILD-SNAPSHOT").unacceptableVersionPatterns(),
+				Collections.emptyList(), null).isEmpty()).isTrue();
+	}
+
+	@Test
+	public void should_match_any_of_the_regexes() {
+		then(UnacceptableVersionScanner.anyOf(Arrays.asList("^.*\\.git/.*$", "^.*/target/.*$"))
+				.matcher("foo/target/pom.xml").matches()).isTrue();
+		then(UnacceptableVersionScanner.anyOf(Collections.emptyList())).isNull();
+	}
+
+}
@@ -16,6 +16,7 @@
 
 package releaser.internal.buildsystem;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Properties;
@@ -76,6 +77,59 @@ public class VersionsFromBomTests {
 		then(this.versionsFromBom.shouldSetProperty(missingProps())).isFalse();
 	}
 
+	@Test
+	public void should_return_projects_whose_version_properties_are_set() {
+		Properties properties = validProps();
+		properties.setProperty("missing.version", "1.0.0");
+		properties.setProperty("foo.other", "1.0.0");
+
+		then(this.versionsFromBom.projectsWithVersionProperty(properties)).containsExactly(new Project("foo", "bar"));
+	}
+
+	@Test
+	public void should_see_projects_added_and_removed_after_a_lookup() {
+		VersionsFromBom versionsFromBom = mixedVersions();
+		then(versionsFromBom.shouldBeUpdated("baz-parent")).isFalse();
+
+		versionsFromBom.add("baz", "1.0.0");
+
+		then(versionsFromBom.versionForProject("baz-parent")).isEqualTo("1.0.0");
+
+		versionsFromBom.remove("baz");
+
+		then(versionsFromBom.shouldBeUpdated("baz-parent")).isFalse();
+	}
+
+	@Test
+	public void should_merge_custom_parsers_results_with_later_ones_overriding_earlier_ones() {
+		ReleaserProperties properties = SpringCloudReleaserProperties.get();
+		Set<Project> projects = new HashSet<>();
+		projects.add(new Project("foo", "1.0.0"));
+		projects.add(new Project("bar", "1.0.0"));
+		CustomBomParser first = (root, props) -> new VersionsFromBomBuilder().releaserProperties(props)
+				.projects(Collections.singleton(new Project("bar", "2.0.0"))).merged();
+		CustomBomParser second = (root, props) -> new VersionsFromBomBuilder().releaserProperties(props)
+				.projects(new HashSet<>(Arrays.asList(new Project("bar", "3.0.0"), new Project("baz", "1.0.0"))))
+				.merged();
+
+		VersionsFromBom versionsFromBom = new VersionsFromBomBuilder().releaserProperties(properties)
+				.parsers(Arrays.asList(first, second)).projects(projects).retrieveFromBom();
+
+		then(versionsFromBom.projects()).containsExactlyInAnyOrder(new Project("foo", "1.0.0"),
+				new Project("bar", "3.0.0"), new Project("baz", "1.0.0"));
+	}
+
+	@Test
+	public void should_not_match_the_bom_with_its_parent() {
+		Set<Project> projects = new HashSet<>();
+		projects.add(new Project("spring-cloud-dependencies-parent", "2.1.0.RELEASE"));
+		VersionsFromBom versionsFromBom = new VersionsFromBomBuilder()
+				.releaserProperties(SpringCloudReleaserProperties.get()).projects(projects).retrieveFromBom();
+
+		then(versionsFromBom.shouldBeUpdated("spring-cloud-dependencies")).isFalse();
+		then(versionsFromBom.versionForProject("spring-cloud-dependencies-parent")).isEqualTo("2.1.0.RELEASE");
+	}
+
 	@Test
 	public void should_update_projects_for_spring_cloud_release() {
 		VersionsFromBom versionsFromBom = mixedVersions().setVersion("spring-cloud", "3.0.0");
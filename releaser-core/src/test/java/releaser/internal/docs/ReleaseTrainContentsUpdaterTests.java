@@ -23,7 +23,11 @@ import java.nio.file.Files;
 import java.util.Collections;
 
 import org.assertj.core.api.BDDAssertions;
+import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.revwalk.RevCommit;
+import org.eclipse.jgit.treewalk.TreeWalk;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -112,7 +116,10 @@ public class ReleaseTrainContentsUpdaterTests {
 		File file = this.updater.updateReleaseTrainWiki(oldReleaseTrain());
 
 		BDDAssertions.then(file).isNotNull();
-		BDDAssertions.then(edgwareWikiEntryContent(file)).doesNotContain("# Edgware.SR7")
+		// only the page of the current release train gets checked out
+		BDDAssertions.then(new File(file, "Spring-Cloud-Edgware-Release-Notes.md")).doesNotExist();
+		BDDAssertions.then(committedContent(file, "Spring-Cloud-Edgware-Release-Notes.md"))
+				.doesNotContain("# Edgware.SR7")
 				.doesNotContain("Spring Cloud Consul `2.0.1.RELEASE` ([issues](http://www.foo.com/))");
 		BDDAssertions.then(GitTestUtils.openGitProject(file).log().call().iterator().next().getShortMessage())
 				.doesNotContain("Updating project page to release train");
@@ -131,6 +138,8 @@ public class ReleaseTrainContentsUpdaterTests {
 				.contains("Spring Cloud Consul `2.0.1.RELEASE` ([issues](http://www.foo.com/))");
 		BDDAssertions.then(GitTestUtils.openGitProject(file).log().call().iterator().next().getShortMessage())
 				.contains("Updating project page to release train [Edgware.SR7]");
+		BDDAssertions.then(new File(file, "Home.asciidoc")).doesNotExist();
+		BDDAssertions.then(committedContent(file, "Home.asciidoc")).isNotEmpty();
 	}
 
 	@Test
@@ -176,6 +185,16 @@ public class ReleaseTrainContentsUpdaterTests {
 		return string(file, "Spring-Cloud-2020.0-Release-Notes.md");
 	}
 
+	private String committedContent(File repo, String path) throws IOException {
+		try (Git git = GitTestUtils.openGitProject(repo)) {
+			Repository repository = git.getRepository();
+			RevCommit head = repository.parseCommit(repository.resolve("HEAD"));
+			try (TreeWalk treeWalk = TreeWalk.forPath(repository, path, head.getTree())) {
+				return new String(repository.open(treeWalk.getObjectId(0)).getBytes());
+			}
+		}
+	}
+
 	private String string(File file, String s) throws IOException {
 		return new String(Files.readAllBytes(new File(file, s).toPath()));
 	}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.git;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jgit.api.errors.InvalidRemoteException;
+import org.eclipse.jgit.api.errors.TransportException;
+import org.eclipse.jgit.transport.URIish;
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class GitNetworkExecutorTests {
+
+	@Test
+	public void should_retry_operations_failing_with_transport_errors() throws Exception {
+		GitNetworkExecutor executor = new GitNetworkExecutor(1, 3, 1);
+		AtomicInteger calls = new AtomicInteger();
+
+		String result = executor.execute(new URIish("https://retry.example.com/foo"), "clone", () -> {
+			if (calls.incrementAndGet() < 3) {
+				throw new TransportException("connection reset");
+			}
+			return "cloned";
+		});
+
+		then(result).isEqualTo("cloned");
+		then(calls.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void should_fail_when_all_attempts_failed() throws Exception {
+		GitNetworkExecutor executor = new GitNetworkExecutor(1, 2, 1);
+		AtomicInteger calls = new AtomicInteger();
+
+		thenThrownBy(() -> executor.execute(new URIish("https://failing.example.com/foo"), "fetch", () -> {
+			calls.incrementAndGet();
+			throw new TransportException("connection reset");
+		})).isInstanceOf(TransportException.class);
+		then(calls.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_not_retry_non_transport_errors() throws Exception {
+		GitNetworkExecutor executor = new GitNetworkExecutor(1, 3, 1);
+		AtomicInteger calls = new AtomicInteger();
+
+		thenThrownBy(() -> executor.execute(new URIish("https://invalid.example.com/foo"), "clone", () -> {
+			calls.incrementAndGet();
+			throw new InvalidRemoteException("invalid remote");
+		})).isInstanceOf(InvalidRemoteException.class);
+		then(calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_limit_concurrent_operations_per_host() throws Exception {
+		GitNetworkExecutor executor = new GitNetworkExecutor(2, 1, 0);
+		URIish remote = new URIish("https://limited.example.com/foo");
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		ExecutorService service = Executors.newFixedThreadPool(6);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				futures.add(service.submit(() -> executor.execute(remote, "push", () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					sleep();
+					return running.decrementAndGet();
+				})));
+			}
+			for (Future<Integer> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			service.shutdownNow();
+		}
+
+		then(maxRunning.get()).isEqualTo(2);
+	}
+
+	@Test
+	public void should_share_the_connection_limit_of_a_host_between_executors() throws Exception {
+		URIish remote = new URIish("https://shared.example.com/foo");
+		List<GitNetworkExecutor> executors = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			executors.add(new GitNetworkExecutor(1, 1, 0));
+			executors.add(new GitNetworkExecutor(2, 1, 0));
+		}
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		ExecutorService service = Executors.newFixedThreadPool(6);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (GitNetworkExecutor executor : executors) {
+				futures.add(service.submit(() -> executor.execute(remote, "push", () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					sleep();
+					return running.decrementAndGet();
+				})));
+			}
+			for (Future<Integer> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			service.shutdownNow();
+		}
+
+		then(maxRunning.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	public void should_apply_a_changed_connection_limit_to_the_host() throws Exception {
+		URIish remote = new URIish("https://changed.example.com/foo");
+		new GitNetworkExecutor(1, 1, 0).execute(remote, "fetch", () -> "fetched");
+		GitNetworkExecutor executor = new GitNetworkExecutor(3, 1, 0);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		ExecutorService service = Executors.newFixedThreadPool(3);
+		try {
+			List<Future<Integer>> futures = new ArrayList<>();
+			for (int i = 0; i < 3; i++) {
+				futures.add(service.submit(() -> executor.execute(remote, "push", () -> {
+					maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+					sleep();
+					return running.decrementAndGet();
+				})));
+			}
+			for (Future<Integer> future : futures) {
+				future.get(10, TimeUnit.SECONDS);
+			}
+		}
+		finally {
+			service.shutdownNow();
+		}
+
+		then(maxRunning.get()).isEqualTo(3);
+	}
+
+	@Test
+	public void should_hand_out_no_more_permits_than_a_lowered_limit() throws Exception {
+		GitNetworkExecutor.HostPermits permits = new GitNetworkExecutor.HostPermits(3);
+		permits.acquire(3);
+
+		permits.limit(1);
+		permits.release(3);
+
+		then(permits.availablePermits()).isEqualTo(1);
+	}
+
+	@Test
+	public void should_free_the_connection_slot_while_waiting_to_retry() throws Exception {
+		GitNetworkExecutor executor = new GitNetworkExecutor(1, 2, 1000);
+		URIish remote = new URIish("https://backoff.example.com/foo");
+		CountDownLatch failed = new CountDownLatch(1);
+		List<String> operations = Collections.synchronizedList(new ArrayList<>());
+		ExecutorService service = Executors.newSingleThreadExecutor();
+		try {
+			Future<String> retried = service.submit(() -> executor.execute(remote, "clone", () -> {
+				if (failed.getCount() > 0) {
+					failed.countDown();
+					throw new TransportException("connection reset");
+				}
+				operations.add("clone");
+				return "cloned";
+			}));
+			failed.await(10, TimeUnit.SECONDS);
+
+			executor.execute(remote, "fetch", () -> operations.add("fetch"));
+
+			then(retried.get(10, TimeUnit.SECONDS)).isEqualTo("cloned");
+		}
+		finally {
+			service.shutdownNow();
+		}
+
+		then(operations).containsExactly("fetch", "clone");
+	}
+
+	@Test
+	public void should_add_jitter_to_exponential_backoff() {
+		GitNetworkExecutor executor = new GitNetworkExecutor(1, 3, 1000);
+
+		then(executor.backoff(1)).isBetween(500L, 1000L);
+		then(executor.backoff(2)).isBetween(1000L, 2000L);
+		then(executor.backoff(10)).isBetween(15000L, 30000L);
+	}
+
+	private void sleep() {
+		try {
+			Thread.sleep(50);
+		}
+		catch (InterruptedException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
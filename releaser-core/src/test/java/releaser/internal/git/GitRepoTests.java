@@ -22,12 +22,17 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.BDDAssertions;
 import org.eclipse.jgit.api.CloneCommand;
 import org.eclipse.jgit.api.Git;
 import org.eclipse.jgit.api.errors.GitAPIException;
+import org.eclipse.jgit.lib.PersonIdent;
 import org.eclipse.jgit.lib.Ref;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.transport.URIish;
@@ -256,10 +261,143 @@ public class GitRepoTests {
 		}
 	}
 
+	@Test
+	public void should_list_tags_with_the_most_recent_first() throws Exception {
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProject(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+		try (Git git = openGitProject(project)) {
+			git.tag().setName("v1.0.0").setTagger(tagger(1000L)).call();
+			git.tag().setName("v3.0.0").setTagger(tagger(3000L)).call();
+			git.tag().setName("v2.0.0").setTagger(tagger(2000L)).call();
+		}
+
+		List<String> tags = new GitRepo(project).listTags().collect(Collectors.toList());
+
+		then(tags).containsSubsequence("v3.0.0", "v2.0.0", "v1.0.0");
+		then(tags.indexOf("v3.0.0")).isZero();
+	}
+
+	@Test
+	public void should_refresh_listed_tags_when_a_new_tag_gets_created() throws Exception {
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProject(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+		then(new GitRepo(project).listTags()).doesNotContain("v5.0.0");
+
+		try (Git git = openGitProject(project)) {
+			git.tag().setName("v5.0.0").setTagger(tagger(5000L)).call();
+		}
+
+		then(new GitRepo(project).listTags().findFirst()).contains("v5.0.0");
+		then(new GitRepo(project).findTagIdByName("v5.0.0", false)).isPresent();
+	}
+
+	@Test
+	public void should_share_the_repository_between_git_repos_of_the_same_project() throws Exception {
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProject(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+
+		try (Git first = openGitProject(project); Git second = openGitProject(new File(project, ".git"))) {
+			then(first.getRepository()).isSameAs(second.getRepository());
+		}
+		then(new GitRepo(project).currentBranch()).isEqualTo("master");
+	}
+
+	private PersonIdent tagger(long secondsFromNow) {
+		return new PersonIdent("releaser", "releaser@example.com", System.currentTimeMillis() + secondsFromNow * 1000L,
+				0);
+	}
+
+	@Test
+	public void should_push_branch_and_tag_atomically() throws Exception {
+		File origin = GitTestUtils.clonedProject(this.tmp.newFolder(), this.springCloudReleaseProject);
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProject(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+		GitTestUtils.setOriginOnProjectToTmp(origin, project);
+		createNewFile(project);
+		new GitRepo(project).commit("some message");
+		new GitRepo(project).tag("v5.6.7.RELEASE");
+
+		new GitRepo(project).pushAtomically(Arrays.asList("refs/tags/v5.6.7.RELEASE:refs/tags/v5.6.7.RELEASE",
+				"refs/heads/master:refs/heads/master"));
+
+		try (Git git = openGitProject(origin)) {
+			tagIsPresent(git, "v5.6.7.RELEASE");
+			RevCommit revCommit = git.log().call().iterator().next();
+			then(revCommit.getShortMessage()).isEqualTo("some message");
+		}
+	}
+
+	@Test
+	public void should_lazily_log_commits_matching_the_filter() throws Exception {
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProject(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+		String initialCommit;
+		try (Git git = openGitProject(project)) {
+			initialCommit = git.log().setMaxCount(1).call().iterator().next().name();
+		}
+		createNewFile(project);
+		new GitRepo(project).commit("first change");
+		new File(project, "docs").mkdirs();
+		new File(project, "docs/foo.txt").createNewFile();
+		new GitRepo(project).commit("second change");
+
+		try (Stream<RevCommit> commits = new GitRepo(project).logStream(initialCommit, "HEAD", CommitFilter.all())) {
+			then(commits.map(RevCommit::getShortMessage)).containsExactly("second change", "first change");
+		}
+		try (Stream<RevCommit> commits = new GitRepo(project).logStream(initialCommit, "HEAD",
+				CommitFilter.all().message("first"))) {
+			then(commits.map(RevCommit::getShortMessage)).containsExactly("first change");
+		}
+		try (Stream<RevCommit> commits = new GitRepo(project).logStream(initialCommit, "HEAD",
+				CommitFilter.all().paths("docs"))) {
+			then(commits.map(RevCommit::getShortMessage)).containsExactly("second change");
+		}
+		then(new GitRepo(project).log(initialCommit, "HEAD")).hasSize(2);
+	}
+
+	@Test
+	public void should_check_out_only_the_given_paths_and_keep_the_others_in_commits() throws Exception {
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProjectWithoutCheckout(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+		then(new File(project, "README.adoc")).doesNotExist();
+
+		new GitRepo(project).sparseCheckout("", Collections.singletonList("README.adoc"));
+
+		then(new File(project, "README.adoc")).exists();
+		then(new File(project, "pom.xml")).doesNotExist();
+		Files.write(new File(project, "README.adoc").toPath(), "updated".getBytes());
+		new GitRepo(project).commit("sparse change");
+		try (Git git = openGitProject(project)) {
+			then(git.log().call().iterator().next().getShortMessage()).isEqualTo("sparse change");
+			then(git.getRepository().resolve("HEAD:pom.xml")).isNotNull();
+		}
+
+		new GitRepo(project).sparseCheckout("Camden.x", Collections.singletonList("pom.xml"));
+
+		then(new GitRepo(project).currentBranch()).isEqualTo("Camden.x");
+		then(new File(project, "pom.xml")).exists();
+	}
+
 	private Git openGitProject(File project) {
 		return new GitRepo.JGitFactory().open(project);
 	}
 
+	@Test
+	public void should_return_the_head_commit_only_for_a_clean_working_copy() throws Exception {
+		File project = new GitRepo(this.tmpFolder)
+				.cloneProject(new URIish(this.springCloudReleaseProject.toURI().toURL()));
+		String head;
+		try (Git git = openGitProject(project)) {
+			head = git.log().call().iterator().next().getName();
+		}
+
+		then(new GitRepo(project).headCommit()).contains(head);
+
+		createNewFile(project);
+
+		then(new GitRepo(project).headCommit()).isEmpty();
+	}
+
 	private void createNewFile(File project) throws Exception {
 		File newFile = new File(project, "newFile");
 		newFile.createNewFile();
@@ -17,6 +17,7 @@
 package releaser.internal.git;
 
 import java.io.File;
+import java.util.Arrays;
 
 import org.assertj.core.api.BDDAssertions;
 import org.junit.Test;
@@ -27,6 +28,7 @@ import releaser.SpringCloudReleaserProperties;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.project.ProjectVersion;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
@@ -113,6 +115,37 @@ public class ProjectGitHandlerTests {
 		then(this.gitRepo).should().pushCurrentBranch();
 	}
 
+	@Test
+	public void should_push_tag_and_branch_at_the_end_of_the_release_when_batch_push_is_enabled() {
+		this.properties.getGit().setBatchPush(true);
+		given(this.gitRepo.currentBranch()).willReturn("main");
+
+		this.updater.commitAndTagIfApplicable(this.file, projectVersion("1.0.0.RELEASE"));
+		this.updater.pushReleasedBranch(this.file);
+
+		then(this.gitRepo).should(never()).pushTag(anyString());
+		then(this.gitRepo).should(never()).pushCurrentBranch();
+		BDDAssertions.then(this.updater.hasPendingChanges()).isTrue();
+
+		this.updater.pushPendingChanges();
+
+		then(this.gitRepo).should().pushAtomically(eq(
+				Arrays.asList("refs/tags/v1.0.0.RELEASE:refs/tags/v1.0.0.RELEASE", "refs/heads/main:refs/heads/main")));
+		BDDAssertions.then(this.updater.hasPendingChanges()).isFalse();
+	}
+
+	@Test
+	public void should_not_push_discarded_changes_when_batch_push_is_enabled() {
+		this.properties.getGit().setBatchPush(true);
+
+		this.updater.commitAndTagIfApplicable(this.file, projectVersion("1.0.0.RELEASE"));
+		this.updater.discardPendingChanges();
+		this.updater.pushPendingChanges();
+
+		then(this.gitRepo).should(never()).pushTag(anyString());
+		then(this.gitRepo).should(never()).pushAtomically(anyList());
+	}
+
 	@Test
 	public void should_retrieve_version_from_branch_for_calver() {
 		String branch = this.updater.branchFromVersion("2020.0.0-M1");
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.request.JdkRequest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import releaser.internal.ReleaserProperties;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.absent;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class ConditionalRequestWireTests {
+
+	@Rule
+	public WireMockRule server = new WireMockRule(options().dynamicPort());
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	File cacheDir;
+
+	@Before
+	public void setup() throws IOException {
+		this.cacheDir = this.tmp.newFolder();
+	}
+
+	@Test
+	public void should_serve_the_stored_response_when_the_resource_was_not_modified() throws IOException {
+		this.server.stubFor(get(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.withHeader("If-None-Match", absent())
+				.willReturn(aResponse().withStatus(200).withHeader("ETag", "\"foo\"")
+						.withHeader("Link", "<http://localhost/next>; rel=\"next\"").withBody("[{\"number\": 1}]")));
+		this.server.stubFor(get(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.withHeader("If-None-Match", equalTo("\"foo\"")).willReturn(aResponse().withStatus(304)));
+
+		Response first = request().fetch();
+		Response second = request().fetch();
+
+		then(first.status()).isEqualTo(200);
+		then(second.status()).isEqualTo(200);
+		then(second.body()).isEqualTo("[{\"number\": 1}]");
+		then(second.headers()).containsKey("Link");
+		this.server.verify(1, getRequestedFor(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.withHeader("If-None-Match", equalTo("\"foo\"")));
+	}
+
+	@Test
+	public void should_return_the_new_response_when_the_resource_was_modified() throws IOException {
+		this.server.stubFor(get(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.withHeader("If-None-Match", absent())
+				.willReturn(aResponse().withStatus(200).withHeader("ETag", "\"foo\"").withBody("[]")));
+		this.server.stubFor(get(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.withHeader("If-None-Match", equalTo("\"foo\""))
+				.willReturn(aResponse().withStatus(200).withHeader("ETag", "\"bar\"").withBody("[{\"number\": 1}]")));
+
+		request().fetch();
+		Response second = request().fetch();
+
+		then(second.body()).isEqualTo("[{\"number\": 1}]");
+	}
+
+	@Test
+	public void should_not_store_responses_without_validators() throws IOException {
+		this.server.stubFor(get(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.willReturn(aResponse().withStatus(200).withBody("[]")));
+
+		request().fetch();
+		request().fetch();
+
+		this.server.verify(2, getRequestedFor(urlEqualTo("/repos/spring-cloud/spring-cloud-sleuth/milestones"))
+				.withHeader("If-None-Match", absent()));
+		then(this.cacheDir.listFiles()).isEmpty();
+	}
+
+	@Test
+	public void should_store_responses_of_different_users_separately() {
+		Map.Entry<String, String> accept = new AbstractMap.SimpleImmutableEntry<>("Accept", "application/json");
+		Map.Entry<String, String> foo = new AbstractMap.SimpleImmutableEntry<>("Authorization", "token foo");
+		Map.Entry<String, String> bar = new AbstractMap.SimpleImmutableEntry<>("Authorization", "token bar");
+
+		then(ConditionalRequestWire.key("http://localhost/foo", Arrays.asList(accept, foo)))
+				.isNotEqualTo(ConditionalRequestWire.key("http://localhost/foo", Arrays.asList(accept, bar)))
+				.isEqualTo(ConditionalRequestWire.key("http://localhost/foo", Arrays.asList(foo, accept)));
+		then(ConditionalRequestWire.key("http://localhost/foo", Collections.singletonList(accept)))
+				.isNotEqualTo(ConditionalRequestWire.key("http://localhost/bar", Collections.singletonList(accept)));
+	}
+
+	@Test
+	public void should_not_cache_responses_when_switched_off() {
+		ReleaserProperties properties = new ReleaserProperties();
+		properties.getGit().setCacheGithubResponses(false);
+		Request request = new JdkRequest("http://localhost:" + this.server.port());
+
+		then(ConditionalRequestWire.cached(request, properties)).isSameAs(request);
+	}
+
+	private Request request() {
+		return new JdkRequest(
+				"http://localhost:" + this.server.port() + "/repos/spring-cloud/spring-cloud-sleuth/milestones")
+						.through(ConditionalRequestWire.class, this.cacheDir.getAbsolutePath());
+	}
+
+}
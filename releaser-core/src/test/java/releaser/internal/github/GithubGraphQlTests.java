@@ -0,0 +1,114 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.jcabi.github.RtGithub;
+import com.jcabi.http.request.JdkRequest;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.BDDAssertions.then;
+import static org.assertj.core.api.BDDAssertions.thenThrownBy;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class GithubGraphQlTests {
+
+	@Rule
+	public WireMockRule server = new WireMockRule(options().dynamicPort());
+
+	@Test
+	public void should_fetch_repositories_in_batches() {
+		this.server.stubFor(post(urlEqualTo("/graphql")).withRequestBody(containing("spring-cloud-sleuth"))
+				.willReturn(json("{\"data\": {"
+						+ "\"r0\": {\"closedMilestones\": {\"nodes\": [{\"number\": 33, \"title\": \"2.0.0.RELEASE\", "
+						+ "\"state\": \"CLOSED\", \"url\": \"https://github.com/spring-cloud/spring-cloud-sleuth/milestone/33\"}]}},"
+						+ "\"r1\": {\"closedMilestones\": {\"nodes\": []}}}}")));
+		this.server.stubFor(post(urlEqualTo("/graphql")).withRequestBody(containing("spring-cloud-vault")).willReturn(
+				json("{\"data\": {\"r0\": {\"openMilestones\": {\"nodes\": [{\"number\": 4, \"title\": \"3.0.0\", "
+						+ "\"state\": \"OPEN\", \"url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/4\"}]}}}}")));
+
+		Map<String, GithubGraphQl.Repository> repositories = graphQl(2).repositories("spring-cloud",
+				Arrays.asList("spring-cloud-sleuth", "spring-cloud-consul", "spring-cloud-vault"),
+				GithubGraphQl.Section.ALL);
+
+		this.server.verify(2, postRequestedFor(urlEqualTo("/graphql")));
+		then(repositories).containsOnlyKeys("spring-cloud-sleuth", "spring-cloud-consul", "spring-cloud-vault");
+		GithubGraphQl.Milestone milestone = repositories.get("spring-cloud-sleuth").closedMilestones.get(0);
+		then(milestone.number).isEqualTo(33);
+		then(milestone.title).isEqualTo("2.0.0.RELEASE");
+		then(milestone.state).isEqualTo("CLOSED");
+		then(milestone.url).isEqualTo("https://github.com/spring-cloud/spring-cloud-sleuth/milestone/33");
+		then(repositories.get("spring-cloud-consul").closedMilestones).isEmpty();
+		GithubGraphQl.Repository vault = repositories.get("spring-cloud-vault");
+		then(vault.openMilestones).extracting(open -> open.title).containsExactly("3.0.0");
+		then(vault.closedMilestones).isEmpty();
+	}
+
+	@Test
+	public void should_skip_repositories_that_were_not_found() {
+		this.server.stubFor(post(urlEqualTo("/graphql"))
+				.willReturn(json("{\"data\": {\"r0\": null}, \"errors\": [{\"type\": \"NOT_FOUND\", "
+						+ "\"message\": \"Could not resolve to a Repository with the name 'spring-cloud-foo'.\"}]}")));
+
+		Map<String, GithubGraphQl.Repository> repositories = graphQl(2).repositories("spring-cloud",
+				Collections.singletonList("spring-cloud-foo"), GithubGraphQl.Section.ALL);
+
+		then(repositories).isEmpty();
+	}
+
+	@Test
+	public void should_fail_when_the_query_failed() {
+		this.server.stubFor(post(urlEqualTo("/graphql")).willReturn(aResponse().withStatus(502)));
+
+		thenThrownBy(() -> graphQl(2).repositories("spring-cloud", Collections.singletonList("spring-cloud-sleuth"),
+				GithubGraphQl.Section.ALL)).isInstanceOf(IllegalStateException.class).hasMessageContaining("502");
+	}
+
+	@Test
+	public void should_only_query_for_requested_sections() {
+		String query = graphQl(2).query(Arrays.asList("a", "b"), EnumSet.of(GithubGraphQl.Section.CLOSED_MILESTONES));
+
+		then(query).startsWith("query($owner: String!, $n0: String!, $n1: String!)")
+				.contains("r0: repository(owner: $owner, name: $n0)")
+				.contains("r1: repository(owner: $owner, name: $n1)")
+				.contains("closedMilestones: milestones(first: 50, states: [CLOSED]").doesNotContain("openMilestones");
+	}
+
+	private GithubGraphQl graphQl(int batchSize) {
+		return new GithubGraphQl(new RtGithub(new JdkRequest("http://localhost:" + this.server.port())), batchSize, 50);
+	}
+
+	private static ResponseDefinitionBuilder json(String body) {
+		return aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody(body);
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.jcabi.github.RtGithub;
+import com.jcabi.http.request.ApacheRequest;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import releaser.internal.ReleaserProperties;
+import releaser.internal.project.ProjectVersion;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class GithubIssueFilerTests {
+
+	private static final String TITLE = "Upgrade to Spring Cloud Hoxton.RELEASE";
+
+	static WireMockServer server = new WireMockServer(options().dynamicPort());
+
+	GithubIssueFiler filer;
+
+	@BeforeClass
+	public static void startServer() {
+		server.start();
+	}
+
+	@AfterClass
+	public static void stopServer() {
+		server.stop();
+	}
+
+	@Before
+	public void setup() {
+		server.resetAll();
+		ReleaserProperties properties = new ReleaserProperties();
+		properties.getGit().setOauthToken("foo");
+		this.filer = new GithubIssueFiler(new RtGithub(new ApacheRequest("http://localhost:" + server.port())),
+				properties);
+		server.stubFor(post(urlEqualTo("/repos/spring-guides/getting-started-guides/issues"))
+				.willReturn(aResponse().withStatus(201).withHeader("Content-Type", "application/json")
+						.withBody("{\"number\": 1, \"title\": \"" + TITLE + "\"}")));
+	}
+
+	@Test
+	public void should_not_file_an_issue_when_the_search_finds_one_with_the_same_title() {
+		stubSearch("{\"title\": \"Upgrade to Spring Cloud Hoxton.RC1\"}, {\"title\": \"" + TITLE + "\"}");
+
+		fileIssue();
+		fileIssue();
+
+		server.verify(1, getRequestedFor(urlPathEqualTo("/search/issues")));
+		server.verify(0, postRequestedFor(urlEqualTo("/repos/spring-guides/getting-started-guides/issues")));
+	}
+
+	@Test
+	public void should_file_an_issue_only_once_when_the_search_finds_no_issue_with_the_same_title() {
+		stubSearch("{\"title\": \"Upgrade to Spring Cloud Hoxton.RELEASE and Boot 2.2\"}");
+
+		fileIssue();
+		fileIssue();
+
+		server.verify(1, getRequestedFor(urlPathEqualTo("/search/issues")));
+		server.verify(1, postRequestedFor(urlEqualTo("/repos/spring-guides/getting-started-guides/issues")));
+	}
+
+	private void stubSearch(String items) {
+		server.stubFor(get(urlPathEqualTo("/search/issues"))
+				.withQueryParam("q",
+						containing("\"" + TITLE
+								+ "\" in:title is:issue is:open repo:spring-guides/getting-started-guides"))
+				.willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+						.withBody("{\"items\": [" + items + "]}")));
+	}
+
+	private void fileIssue() {
+		this.filer.fileAGitHubIssue("spring-guides", "getting-started-guides",
+				new ProjectVersion("spring-cloud-release", "Hoxton.RELEASE"), TITLE, "Hoxton got released");
+	}
+
+}
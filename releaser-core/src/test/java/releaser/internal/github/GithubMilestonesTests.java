@@ -17,12 +17,18 @@
 package releaser.internal.github;
 
 import java.io.IOException;
-import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
 import com.jcabi.github.Milestone;
 import com.jcabi.github.Repo;
 import com.jcabi.github.Repos;
+import com.jcabi.github.RtGithub;
 import com.jcabi.github.mock.MkGithub;
+import com.jcabi.http.request.ApacheRequest;
+import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -32,6 +38,17 @@ import releaser.internal.project.ProjectVersion;
 
 import org.springframework.boot.test.system.OutputCaptureRule;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.patch;
+import static com.github.tomakehurst.wiremock.client.WireMock.patchRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.assertj.core.api.BDDAssertions.thenThrownBy;
 
@@ -54,22 +71,20 @@ public class GithubMilestonesTests {
 	public void setup() throws IOException {
 		this.github = new MkGithub();
 		this.repo = createSleuthRepo(this.github);
+		clearCaches();
+	}
+
+	@After
+	public void clearCaches() {
+		GithubMilestones.MILESTONE_CACHE.clear();
+		GithubMilestones.MILESTONE_URL_CACHE.clear();
+		GithubMilestones.MILESTONE_INDEX_CACHE.clear();
 	}
 
 	@Test
 	public void should_close_milestone_if_there_is_one() throws IOException {
-		GithubMilestones milestones = new GithubMilestones(this.github, withToken()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.2.0.BUILD-SNAPSHOT";
-			}
-		};
-		this.repo.milestones().create("0.2.0.BUILD-SNAPSHOT");
+		Milestone milestone = this.repo.milestones().create("0.2.0.BUILD-SNAPSHOT");
+		GithubMilestones milestones = milestones(withToken(), open(milestone.number(), "0.2.0.BUILD-SNAPSHOT"));
 
 		milestones.closeMilestone(nonGaSleuthProject());
 
@@ -79,18 +94,8 @@ public class GithubMilestonesTests {
 	@Test
 	public void should_close_milestone_when_the_milestone_contains_numeric_version_only_and_version_is_ga()
 			throws IOException {
-		GithubMilestones milestones = new GithubMilestones(this.github, withToken()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.2.0";
-			}
-		};
-		this.repo.milestones().create("0.2.0");
+		Milestone milestone = this.repo.milestones().create("0.2.0");
+		GithubMilestones milestones = milestones(withToken(), open(milestone.number(), "0.2.0"));
 
 		milestones.closeMilestone(gaSleuthProject());
 
@@ -103,18 +108,8 @@ public class GithubMilestonesTests {
 
 	@Test
 	public void should_not_close_milestone_when_the_milestone_contains_numeric_version_only() throws IOException {
-		GithubMilestones milestones = new GithubMilestones(this.github, withToken()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.2.0";
-			}
-		};
-		this.repo.milestones().create("0.2.0");
+		Milestone milestone = this.repo.milestones().create("0.2.0");
+		GithubMilestones milestones = milestones(withToken(), open(milestone.number(), "0.2.0"));
 
 		milestones.closeMilestone(nonGaSleuthProject());
 
@@ -122,24 +117,9 @@ public class GithubMilestonesTests {
 	}
 
 	@Test
-	public void should_fetch_url_of_a_closed_matching_milestone() throws IOException {
-		GithubMilestones milestones = new GithubMilestones(this.github, withToken()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.2.0.RELEASE";
-			}
-
-			@Override
-			URL foundMilestoneUrl(Milestone.Smart milestone) throws IOException {
-				return new URL("https://api.github.com/repos/spring-cloud/spring-cloud-sleuth/milestones/33");
-			}
-		};
-		this.repo.milestones().create("0.2.0.RELEASE");
+	public void should_fetch_url_of_a_closed_matching_milestone() {
+		GithubMilestones milestones = milestones(withToken(), new MilestoneIndex.Entry(33, "0.2.0.RELEASE",
+				MilestoneIndex.CLOSED, "https://github.com/spring-cloud/spring-cloud-sleuth/milestone/33"));
 
 		String url = milestones.milestoneUrl(gaSleuthProject());
 
@@ -159,22 +139,8 @@ public class GithubMilestonesTests {
 
 	@Test
 	public void should_return_null_if_no_matching_milestone_was_found() {
-		GithubMilestones milestones = new GithubMilestones(this.github, withToken()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.9.0.RELEASE";
-			}
-
-			@Override
-			URL foundMilestoneUrl(Milestone.Smart milestone) throws IOException {
-				return new URL("http://www.foo.com/bar");
-			}
-		};
+		GithubMilestones milestones = milestones(withToken(),
+				new MilestoneIndex.Entry(1, "0.9.0.RELEASE", MilestoneIndex.CLOSED, "http://www.foo.com/bar"));
 
 		String url = milestones.milestoneUrl(gaSleuthProject());
 
@@ -183,18 +149,8 @@ public class GithubMilestonesTests {
 
 	@Test
 	public void should_return_null_if_no_matching_milestone_was_found_within_threshold() throws IOException {
-		GithubMilestones milestones = new GithubMilestones(this.github, withThreshold()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.2.0";
-			}
-		};
-		this.repo.milestones().create("0.2.0");
+		Milestone milestone = this.repo.milestones().create("0.2.0");
+		GithubMilestones milestones = milestones(withThreshold(), open(milestone.number(), "0.2.0"));
 
 		milestones.closeMilestone(gaSleuthProject());
 
@@ -207,18 +163,8 @@ public class GithubMilestonesTests {
 
 	@Test
 	public void should_throw_exception_when_there_is_no_matching_milestone() throws IOException {
-		GithubMilestones milestones = new GithubMilestones(this.github, withToken()) {
-			@Override
-			String org() {
-				return GithubMilestonesTests.this.repo.coordinates().user();
-			}
-
-			@Override
-			String milestoneTitle(Milestone.Smart milestone) {
-				return "0.1.0.BUILD-SNAPSHOT";
-			}
-		};
-		this.repo.milestones().create("v0.2.0.BUILD-SNAPSHOT");
+		Milestone milestone = this.repo.milestones().create("v0.2.0.BUILD-SNAPSHOT");
+		GithubMilestones milestones = milestones(withToken(), open(milestone.number(), "0.1.0.BUILD-SNAPSHOT"));
 
 		milestones.closeMilestone(nonGaSleuthProject());
 		then(this.capture.toString()).contains("No matching milestone was found");
@@ -233,8 +179,8 @@ public class GithubMilestonesTests {
 			}
 
 			@Override
-			String milestoneTitle(Milestone.Smart milestone) throws IOException {
-				throw new IOException("foo");
+			List<MilestoneIndex.Entry> listMilestones(String repo) {
+				throw new IllegalStateException(new IOException("foo"));
 			}
 		};
 		this.repo.milestones().create("v0.2.0.BUILD-SNAPSHOT");
@@ -244,6 +190,125 @@ public class GithubMilestonesTests {
 		then(this.capture.toString()).contains("No matching milestone was found");
 	}
 
+	@Test
+	public void should_list_milestones_once_for_closing_and_url_lookups() {
+		WireMockServer server = new WireMockServer(options().dynamicPort());
+		server.start();
+		try {
+			server.stubFor(get(urlPathEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones"))
+					.withQueryParam("state", equalTo("all"))
+					.willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+							.withBody("[{\"number\": 2, \"title\": \"2.1.0\", \"state\": \"open\", "
+									+ "\"html_url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/2\"},"
+									+ "{\"number\": 1, \"title\": \"2.0.0\", \"state\": \"closed\", "
+									+ "\"html_url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/1\"}]")));
+			server.stubFor(patch(urlEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones/2"))
+					.willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+							.withBody("{\"number\": 2, \"state\": \"closed\"}")));
+			GithubMilestones milestones = new GithubMilestones(
+					new RtGithub(new ApacheRequest("http://localhost:" + server.port())), withToken()) {
+				@Override
+				String org() {
+					return "spring-cloud";
+				}
+			};
+
+			milestones.closeMilestone(new ProjectVersion("spring-cloud-vault", "2.1.0.RELEASE"));
+
+			then(milestones.milestoneUrl(new ProjectVersion("spring-cloud-vault", "2.1.0.RELEASE")))
+					.isEqualTo("https://github.com/spring-cloud/spring-cloud-vault/milestone/2?closed=1");
+			server.verify(1, getRequestedFor(urlPathEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones")));
+			server.verify(1, patchRequestedFor(urlEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones/2")));
+		}
+		finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void should_stop_paging_once_enough_milestones_of_each_state_were_found() {
+		WireMockServer server = new WireMockServer(options().dynamicPort());
+		server.start();
+		ReleaserProperties properties = withToken();
+		properties.getGit().setNumberOfCheckedMilestones(1);
+		try {
+			server.stubFor(get(urlPathEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones"))
+					.withQueryParam("state", equalTo("all"))
+					.willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+							.withHeader("Link",
+									"<http://localhost:" + server.port()
+											+ "/repos/spring-cloud/spring-cloud-vault/milestones?page=2>; rel=\"next\"")
+							.withBody("[{\"number\": 2, \"title\": \"2.1.0\", \"state\": \"open\", "
+									+ "\"html_url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/2\"},"
+									+ "{\"number\": 1, \"title\": \"2.0.0\", \"state\": \"closed\", "
+									+ "\"html_url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/1\"}]")));
+			server.stubFor(get(urlPathEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones"))
+					.withQueryParam("page", equalTo("2")).willReturn(
+							aResponse().withStatus(200).withHeader("Content-Type", "application/json").withBody("[]")));
+			GithubMilestones milestones = new GithubMilestones(
+					new RtGithub(new ApacheRequest("http://localhost:" + server.port())), properties) {
+				@Override
+				String org() {
+					return "spring-cloud";
+				}
+			};
+
+			then(milestones.listMilestones("spring-cloud-vault")).extracting(entry -> entry.title)
+					.containsExactly("2.1.0", "2.0.0");
+			server.verify(0, getRequestedFor(urlPathEqualTo("/repos/spring-cloud/spring-cloud-vault/milestones"))
+					.withQueryParam("page", equalTo("2")));
+		}
+		finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void should_prefetch_urls_of_closed_matching_milestones_with_a_single_query() {
+		WireMockServer server = new WireMockServer(options().dynamicPort());
+		server.start();
+		ProjectVersion vault = new ProjectVersion("spring-cloud-vault", "2.0.0.RELEASE");
+		ProjectVersion consul = new ProjectVersion("spring-cloud-consul", "2.0.0.RELEASE");
+		try {
+			server.stubFor(post(urlEqualTo("/graphql"))
+					.willReturn(aResponse().withStatus(200).withHeader("Content-Type", "application/json")
+							.withBody("{\"data\": {\"r0\": {\"closedMilestones\": {\"nodes\": ["
+									+ "{\"number\": 2, \"title\": \"2.1.0\", \"state\": \"CLOSED\", "
+									+ "\"url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/2\"},"
+									+ "{\"number\": 1, \"title\": \"2.0.0\", \"state\": \"CLOSED\", "
+									+ "\"url\": \"https://github.com/spring-cloud/spring-cloud-vault/milestone/1\"}]}},"
+									+ "\"r1\": {\"closedMilestones\": {\"nodes\": []}}}}")));
+			GithubMilestones milestones = new GithubMilestones(
+					new RtGithub(new ApacheRequest("http://localhost:" + server.port())), withToken()) {
+				@Override
+				String org() {
+					return "spring-cloud";
+				}
+			};
+
+			milestones.prefetchMilestoneUrls(Arrays.asList(vault, consul));
+
+			server.verify(1, postRequestedFor(urlEqualTo("/graphql")));
+			then(milestones.milestoneUrl(vault))
+					.isEqualTo("https://github.com/spring-cloud/spring-cloud-vault/milestone/1?closed=1");
+			then(milestones.milestoneUrl(consul)).isEmpty();
+		}
+		finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void should_not_prefetch_milestones_when_batching_is_disabled() {
+		ReleaserProperties properties = withToken();
+		properties.getGit().setGithubGraphqlBatchSize(0);
+		ProjectVersion vault = new ProjectVersion("spring-cloud-vault", "2.0.0.RELEASE");
+
+		new GithubMilestones(this.github, properties).prefetchMilestoneUrls(Collections.singletonList(vault));
+
+		then(GithubMilestones.MILESTONE_INDEX_CACHE.containsKey("spring-cloud/spring-cloud-vault")).isFalse();
+	}
+
 	private Repo createSleuthRepo(MkGithub github) throws IOException {
 		return github.repos().create(new Repos.RepoCreate("spring-cloud-sleuth", false));
 	}
@@ -256,6 +321,25 @@ public class GithubMilestonesTests {
 				.hasMessageContaining("You must set the value of the OAuth token");
 	}
 
+	private GithubMilestones milestones(ReleaserProperties properties, MilestoneIndex.Entry... entries) {
+		return new GithubMilestones(this.github, properties) {
+			@Override
+			String org() {
+				return GithubMilestonesTests.this.repo.coordinates().user();
+			}
+
+			@Override
+			List<MilestoneIndex.Entry> listMilestones(String repo) {
+				return Arrays.asList(entries);
+			}
+		};
+	}
+
+	private MilestoneIndex.Entry open(int number, String title) {
+		return new MilestoneIndex.Entry(number, title, MilestoneIndex.OPEN,
+				"https://github.com/spring-cloud/spring-cloud-sleuth/milestone/" + number);
+	}
+
 	ReleaserProperties withToken() {
 		ReleaserProperties properties = new ReleaserProperties();
 		properties.getGit().setOauthToken("foo");
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+import releaser.internal.ReleaserProperties;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class GithubRateLimiterTests {
+
+	AtomicLong clock = new AtomicLong(1_000_000);
+
+	List<Long> sleeps = new ArrayList<>();
+
+	GithubRateLimiter limiter = new GithubRateLimiter(this.clock::get, millis -> {
+		this.sleeps.add(millis);
+		this.clock.addAndGet(millis);
+	}, 2, 0.1);
+
+	@Test
+	public void should_throttle_requests_to_the_configured_rate() {
+		for (int i = 0; i < 6; i++) {
+			this.limiter.acquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL);
+		}
+
+		then(this.sleeps).containsExactly(500L, 500L, 500L, 500L);
+	}
+
+	@Test
+	public void should_keep_the_reserve_of_the_budget_for_release_critical_requests() {
+		this.limiter.update(GithubRateLimiter.CORE, 200, headers("X-RateLimit-Limit", "100", "X-RateLimit-Remaining",
+				"11", "X-RateLimit-Reset", String.valueOf((this.clock.get() + 60_000) / 1000)));
+
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL)).isZero();
+		this.clock.addAndGet(1000);
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL))
+				.isEqualTo(59_000L);
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.RELEASE_CRITICAL)).isZero();
+	}
+
+	@Test
+	public void should_pace_informational_requests_so_that_the_budget_lasts_until_the_reset() {
+		this.limiter.update(GithubRateLimiter.CORE, 200, headers("X-RateLimit-Limit", "5000", "X-RateLimit-Remaining",
+				"4101", "X-RateLimit-Reset", String.valueOf((this.clock.get() + 3_600_000) / 1000)));
+
+		for (int i = 0; i < 4; i++) {
+			this.limiter.acquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL);
+		}
+
+		then(this.sleeps).containsExactly(1000L, 1000L, 1000L);
+	}
+
+	@Test
+	public void should_not_pace_release_critical_requests() {
+		this.limiter.update(GithubRateLimiter.CORE, 200, headers("X-RateLimit-Limit", "5000", "X-RateLimit-Remaining",
+				"4101", "X-RateLimit-Reset", String.valueOf((this.clock.get() + 3_600_000) / 1000)));
+		this.limiter.acquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL);
+
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL))
+				.isEqualTo(1000L);
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.RELEASE_CRITICAL)).isZero();
+	}
+
+	@Test
+	public void should_wait_for_the_reset_when_the_budget_is_used_up() {
+		this.limiter.update(GithubRateLimiter.CORE, 403, headers("X-RateLimit-Limit", "100", "X-RateLimit-Remaining",
+				"0", "X-RateLimit-Reset", String.valueOf((this.clock.get() + 30_000) / 1000)));
+
+		this.limiter.acquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.RELEASE_CRITICAL);
+
+		then(this.sleeps).containsExactly(30_000L);
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.INFORMATIONAL)).isZero();
+	}
+
+	@Test
+	public void should_pause_all_requests_when_asked_to_retry_later() {
+		this.limiter.update(GithubRateLimiter.CORE, 403, headers("Retry-After", "5"));
+
+		this.limiter.acquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.RELEASE_CRITICAL);
+
+		then(this.sleeps).containsExactly(5_000L);
+	}
+
+	@Test
+	public void should_track_the_budget_of_each_resource_separately() {
+		this.limiter.update(GithubRateLimiter.SEARCH, 403, headers("X-RateLimit-Limit", "30", "X-RateLimit-Remaining",
+				"0", "X-RateLimit-Reset", String.valueOf((this.clock.get() + 30_000) / 1000)));
+
+		then(this.limiter.tryAcquire(GithubRateLimiter.SEARCH, GithubRateLimiter.Priority.RELEASE_CRITICAL))
+				.isEqualTo(30_000L);
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.RELEASE_CRITICAL)).isZero();
+		then(this.limiter.tryAcquire(GithubRateLimiter.GRAPHQL, GithubRateLimiter.Priority.INFORMATIONAL)).isZero();
+	}
+
+	@Test
+	public void should_update_the_budget_of_the_resource_reported_by_github() {
+		this.limiter.update(GithubRateLimiter.CORE, 403,
+				headers("X-RateLimit-Resource", "graphql", "X-RateLimit-Limit", "5000", "X-RateLimit-Remaining", "0",
+						"X-RateLimit-Reset", String.valueOf((this.clock.get() + 30_000) / 1000)));
+
+		then(this.limiter.tryAcquire(GithubRateLimiter.CORE, GithubRateLimiter.Priority.RELEASE_CRITICAL)).isZero();
+		then(this.limiter.tryAcquire(GithubRateLimiter.GRAPHQL, GithubRateLimiter.Priority.RELEASE_CRITICAL))
+				.isEqualTo(30_000L);
+	}
+
+	@Test
+	public void should_only_throttle_requests_that_do_not_count_against_a_budget() {
+		this.limiter.update(GithubRateLimiter.CORE, 403, headers("X-RateLimit-Limit", "5000", "X-RateLimit-Remaining",
+				"0", "X-RateLimit-Reset", String.valueOf((this.clock.get() + 30_000) / 1000)));
+
+		for (int i = 0; i < 4; i++) {
+			this.limiter.acquireToken();
+		}
+
+		then(this.sleeps).containsExactly(500L, 500L);
+	}
+
+	@Test
+	public void should_pick_the_resource_by_endpoint() {
+		then(GithubRateLimiter.resource("https://api.github.com/search/issues?q=foo")).isEqualTo("search");
+		then(GithubRateLimiter.resource("https://api.github.com/graphql")).isEqualTo("graphql");
+		then(GithubRateLimiter.resource("https://api.github.com/repos/foo/bar/milestones?state=all")).isEqualTo("core");
+		then(GithubRateLimiter.resource("https://api.github.com/repos/foo/search/issues")).isEqualTo("core");
+	}
+
+	@Test
+	public void should_recognize_rate_limited_responses() {
+		then(GithubRateLimiter.isRateLimited(429, Collections.emptyMap())).isTrue();
+		then(GithubRateLimiter.isRateLimited(403, headers("Retry-After", "60"))).isTrue();
+		then(GithubRateLimiter.isRateLimited(403, headers("X-RateLimit-Remaining", "0"))).isTrue();
+		then(GithubRateLimiter.isRateLimited(403, headers("X-RateLimit-Remaining", "10"))).isFalse();
+		then(GithubRateLimiter.isRateLimited(200, headers("X-RateLimit-Remaining", "0"))).isFalse();
+	}
+
+	@Test
+	public void should_share_the_limiter_between_clients_with_the_same_configuration() {
+		ReleaserProperties properties = new ReleaserProperties();
+		ReleaserProperties disabled = new ReleaserProperties();
+		disabled.getGit().setGithubRequestsPerSecond(0);
+
+		then(GithubRateLimiter.of(properties)).isSameAs(GithubRateLimiter.of(new ReleaserProperties()));
+		then(GithubRateLimiter.of(properties).isEnabled()).isTrue();
+		then(GithubRateLimiter.of(disabled).isEnabled()).isFalse();
+	}
+
+	private Map<String, List<String>> headers(String... namesAndValues) {
+		Map<String, List<String>> headers = new HashMap<>();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			headers.put(namesAndValues[i], Collections.singletonList(namesAndValues[i + 1]));
+		}
+		return headers;
+	}
+
+}
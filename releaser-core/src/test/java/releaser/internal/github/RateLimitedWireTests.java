@@ -0,0 +1,134 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.github;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.jcabi.http.Request;
+import com.jcabi.http.Response;
+import com.jcabi.http.Wire;
+import com.jcabi.http.request.DefaultResponse;
+import com.jcabi.http.request.FakeRequest;
+import com.jcabi.immutable.Array;
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class RateLimitedWireTests {
+
+	AtomicLong clock = new AtomicLong(1_000_000);
+
+	List<Long> sleeps = new ArrayList<>();
+
+	GithubRateLimiter limiter = new GithubRateLimiter(this.clock::get, millis -> {
+		this.sleeps.add(millis);
+		this.clock.addAndGet(millis);
+	}, 10, 0.1);
+
+	@Test
+	public void should_send_a_rate_limited_request_again_once_the_limiter_allows_it() throws IOException {
+		Deque<Response> responses = new ArrayDeque<>(
+				Arrays.asList(response(429, "Retry-After", "3"), response(200, "X-RateLimit-Remaining", "4999")));
+		List<String> bodies = new ArrayList<>();
+		Wire origin = (req, home, method, headers, content, connect, read) -> {
+			byte[] body = new byte[content.available()];
+			content.read(body);
+			bodies.add(new String(body, StandardCharsets.UTF_8));
+			return responses.poll();
+		};
+
+		Response response = new RateLimitedWire(origin, this.limiter, GithubRateLimiter.Priority.INFORMATIONAL).send(
+				new FakeRequest(), "https://api.github.com/repos/spring-cloud/spring-cloud-sleuth/issues", Request.POST,
+				Collections.emptyList(),
+				new ByteArrayInputStream("{\"title\":\"foo\"}".getBytes(StandardCharsets.UTF_8)), 0, 0);
+
+		then(response.status()).isEqualTo(200);
+		then(bodies).containsExactly("{\"title\":\"foo\"}", "{\"title\":\"foo\"}");
+		then(this.sleeps).containsExactly(3_000L);
+	}
+
+	@Test
+	public void should_return_the_rate_limited_response_after_the_last_attempt() throws IOException {
+		List<Integer> attempts = new ArrayList<>();
+		Wire origin = (req, home, method, headers, content, connect, read) -> {
+			attempts.add(attempts.size());
+			return response(429, "Retry-After", "1");
+		};
+
+		Response response = new RateLimitedWire(origin, this.limiter, GithubRateLimiter.Priority.INFORMATIONAL).send(
+				new FakeRequest(), "https://api.github.com/repos/spring-cloud/spring-cloud-sleuth/milestones",
+				Request.GET, Collections.emptyList(), new ByteArrayInputStream(new byte[0]), 0, 0);
+
+		then(response.status()).isEqualTo(429);
+		then(attempts).hasSize(RateLimitedWire.MAX_ATTEMPTS);
+	}
+
+	@Test
+	public void should_not_hold_back_the_reads_of_a_release_critical_client() throws IOException {
+		Map<String, List<String>> budget = new HashMap<>();
+		budget.put("X-RateLimit-Limit", Collections.singletonList("100"));
+		budget.put("X-RateLimit-Remaining", Collections.singletonList("10"));
+		budget.put("X-RateLimit-Reset", Collections.singletonList(String.valueOf((this.clock.get() + 60_000) / 1000)));
+		this.limiter.update(GithubRateLimiter.CORE, 200, budget);
+		Wire origin = (req, home, method, headers, content, connect, read) -> response(200, "X-RateLimit-Remaining",
+				"10");
+
+		new RateLimitedWire(origin, this.limiter, GithubRateLimiter.Priority.RELEASE_CRITICAL).send(new FakeRequest(),
+				"https://api.github.com/repos/spring-cloud/spring-cloud-sleuth/milestones", Request.GET,
+				Collections.emptyList(), new ByteArrayInputStream(new byte[0]), 0, 0);
+		then(this.sleeps).isEmpty();
+
+		new RateLimitedWire(origin, this.limiter, GithubRateLimiter.Priority.INFORMATIONAL).send(new FakeRequest(),
+				"https://api.github.com/repos/spring-cloud/spring-cloud-sleuth/milestones", Request.GET,
+				Collections.emptyList(), new ByteArrayInputStream(new byte[0]), 0, 0);
+		then(this.sleeps).containsExactly(60_000L);
+	}
+
+	@Test
+	public void should_treat_only_reads_as_informational() {
+		then(RateLimitedWire.priority("https://api.github.com/repos/foo/bar/milestones", Request.GET))
+				.isEqualTo(GithubRateLimiter.Priority.INFORMATIONAL);
+		then(RateLimitedWire.priority("https://api.github.com/graphql", Request.POST))
+				.isEqualTo(GithubRateLimiter.Priority.INFORMATIONAL);
+		then(RateLimitedWire.priority("https://api.github.com/repos/foo/bar/milestones/1", Request.PATCH))
+				.isEqualTo(GithubRateLimiter.Priority.RELEASE_CRITICAL);
+		then(RateLimitedWire.priority("https://api.github.com/repos/foo/bar/issues", Request.POST))
+				.isEqualTo(GithubRateLimiter.Priority.RELEASE_CRITICAL);
+	}
+
+	private static Response response(int status, String header, String value) {
+		Map.Entry<String, String> entry = new AbstractMap.SimpleImmutableEntry<>(header, value);
+		return new DefaultResponse(new FakeRequest(), status, "", new Array<>(Collections.singletonList(entry)),
+				new byte[0]);
+	}
+
+}
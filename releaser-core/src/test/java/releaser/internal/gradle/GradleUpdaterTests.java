@@ -75,7 +75,34 @@ public class GradleUpdaterTests {
 	}
 
 	@Test
-	public void should_throw_exception_if_snapshots_remain() {
+	public void should_replace_only_values_of_the_updated_keys_and_not_store_unchanged_files() throws IOException {
+		File projectRoot = tmpFile("gradleproject");
+		File gradleProperties = tmpFile("gradleproject/gradle.properties");
+		Files.write(gradleProperties.toPath(), "foo=bar\r\nbarfoo=bar\r\n# foo=bar\r\n".getBytes());
+		File childGradleProperties = tmpFile("gradleproject/child/gradle.properties");
+		Files.write(childGradleProperties.toPath(), "bar=2.0.0\nignored=true".getBytes());
+		then(childGradleProperties.setLastModified(1000L)).isTrue();
+		ReleaserProperties properties = new ReleaserProperties();
+		Map<String, String> props = new HashMap<String, String>() {
+			{
+				put("foo", "spring-cloud-contract");
+				put("bar", "spring-cloud-sleuth");
+			}
+		};
+		properties.getGradle().setGradlePropsSubstitution(props);
+		Projects projects = new Projects(new ProjectVersion("spring-cloud-contract", "1.0.0"),
+				new ProjectVersion("spring-cloud-sleuth", "2.0.0"));
+
+		new GradleUpdater().updateProjectFromReleaseTrain(properties, projectRoot, projects,
+				new ProjectVersion("spring-cloud-contract", "1.0.0"), true);
+
+		then(asString(gradleProperties)).isEqualTo("foo=1.0.0\r\nbarfoo=bar\r\n# foo=bar\r\n");
+		then(asString(childGradleProperties)).isEqualTo("bar=2.0.0\nignored=true");
+		then(childGradleProperties.lastModified()).isEqualTo(1000L);
+	}
+
+	@Test
+	public void should_throw_exception_if_snapshots_remain() throws IOException {
 		File projectRoot = tmpFile("gradleproject");
 		ReleaserProperties properties = new ReleaserProperties();
 		Map<String, String> props = new HashMap<String, String>() {
@@ -91,6 +118,8 @@ public class GradleUpdaterTests {
 		thenThrownBy(() -> new GradleUpdater().updateProjectFromReleaseTrain(properties, projectRoot, projects,
 				new ProjectVersion("spring-cloud-contract", "1.0.0.RELEASE"), true))
 						.hasMessageContaining("(BUILD-)?SNAPSHOT.*$] pattern in line number [1]");
+		then(asString(tmpFile("gradleproject/gradle.properties"))).isEqualTo("foo=bar\nignored=true");
+		then(asString(tmpFile("gradleproject/child/gradle.properties"))).isEqualTo("bar=baz\nignored=true");
 	}
 
 	private File file(String relativePath) throws URISyntaxException {
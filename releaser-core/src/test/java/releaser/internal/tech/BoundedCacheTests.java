@@ -0,0 +1,100 @@
+/*
+ * Copyright 2013-2019 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package releaser.internal.tech;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.BDDAssertions.then;
+
+/**
+ * @author Marcin Grzejszczak
+ */
+public class BoundedCacheTests {
+
+	AtomicLong clock = new AtomicLong();
+
+	BoundedCache<String, String> cache = new BoundedCache<>("test", 2, Duration.ofMinutes(1), this.clock::get);
+
+	@Test
+	public void should_compute_a_value_only_once() {
+		AtomicInteger computations = new AtomicInteger();
+
+		then(this.cache.computeIfAbsent("foo", key -> key + computations.incrementAndGet())).isEqualTo("foo1");
+		then(this.cache.computeIfAbsent("foo", key -> key + computations.incrementAndGet())).isEqualTo("foo1");
+
+		then(computations.get()).isEqualTo(1);
+		then(this.cache.stats().hits).isEqualTo(1);
+		then(this.cache.stats().misses).isEqualTo(1);
+		then(this.cache.stats().hitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	public void should_not_store_null_values() {
+		then(this.cache.computeIfAbsent("foo", key -> null)).isNull();
+
+		then(this.cache.containsKey("foo")).isFalse();
+		then(this.cache.size()).isZero();
+	}
+
+	@Test
+	public void should_expire_entries_after_their_time_to_live() {
+		this.cache.put("foo", "bar");
+		this.clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+		then(this.cache.get("foo")).isEqualTo("bar");
+
+		this.clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+		then(this.cache.get("foo")).isNull();
+		then(this.cache.computeIfAbsent("foo", key -> "baz")).isEqualTo("baz");
+		then(this.cache.stats().evictions).isEqualTo(1);
+	}
+
+	@Test
+	public void should_evict_the_least_recently_used_entry_when_full() {
+		this.cache.put("foo", "1");
+		this.clock.incrementAndGet();
+		this.cache.put("bar", "2");
+		this.clock.incrementAndGet();
+		this.cache.get("foo");
+		this.clock.incrementAndGet();
+
+		this.cache.put("baz", "3");
+
+		then(this.cache.size()).isEqualTo(2);
+		then(this.cache.containsKey("foo")).isTrue();
+		then(this.cache.containsKey("bar")).isFalse();
+		then(this.cache.containsKey("baz")).isTrue();
+		then(this.cache.stats().evictions).isEqualTo(1);
+	}
+
+	@Test
+	public void should_clear_all_entries() {
+		this.cache.put("foo", "1");
+		this.cache.put("bar", "2");
+
+		this.cache.clear();
+
+		then(this.cache.size()).isZero();
+		then(this.cache.get("foo")).isNull();
+	}
+
+}
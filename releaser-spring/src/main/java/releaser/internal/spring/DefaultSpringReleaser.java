@@ -16,6 +16,7 @@
 
 package releaser.internal.spring;
 
+import releaser.internal.Releaser;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.options.Options;
 import releaser.internal.options.OptionsBuilder;
@@ -38,13 +39,17 @@ class DefaultSpringReleaser implements SpringReleaser {
 
 	private final FlowRunner flowRunner;
 
+	private final Releaser releaser;
+
 	DefaultSpringReleaser(ReleaserProperties properties, OptionsAndPropertiesFactory optionsAndPropertiesFactory,
-			ProjectsToRunFactory projectsToRunFactory, TasksToRunFactory tasksToRunFactory, FlowRunner flowRunner) {
+			ProjectsToRunFactory projectsToRunFactory, TasksToRunFactory tasksToRunFactory, FlowRunner flowRunner,
+			Releaser releaser) {
 		this.properties = properties;
 		this.optionsAndPropertiesFactory = optionsAndPropertiesFactory;
 		this.projectsToRunFactory = projectsToRunFactory;
 		this.tasksToRunFactory = tasksToRunFactory;
 		this.flowRunner = flowRunner;
+		this.releaser = releaser;
 	}
 
 	/**
@@ -64,8 +69,14 @@ class DefaultSpringReleaser implements SpringReleaser {
 		ExecutionResult releaseTasksExecutionResult = runReleaseTasks(optionsAndProperties, projectsToRun,
 				releaseTasksToRun);
 		if (releaseTasksExecutionResult.isFailure()) {
+			// with batched pushing nothing gets pushed for a failed release
+			this.releaser.discardPendingChanges();
 			return releaseTasksExecutionResult;
 		}
+		ExecutionResult pushExecutionResult = this.releaser.pushPendingChanges();
+		if (pushExecutionResult.isFailure()) {
+			return releaseTasksExecutionResult.merge(pushExecutionResult);
+		}
 		TasksToRun postReleaseTrainTasksToRun = postReleaseTrainTasksFromOptions(optionsAndProperties);
 		ExecutionResult postReleaseTrainTasksExecutionResult = runPostReleaseTasks(optionsAndProperties,
 				postReleaseTrainTasksToRun);
@@ -19,14 +19,13 @@ package releaser.internal.spring;
 import java.io.Closeable;
 import java.io.File;
 import java.io.Serializable;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import releaser.internal.ReleaserProperties;
 import releaser.internal.options.Options;
 import releaser.internal.project.ProjectVersion;
+import releaser.internal.tech.BoundedCache;
 
 /**
  * A single project to be released. Contains all the information necessary to release a
@@ -101,7 +100,7 @@ public class ProjectToRun implements Serializable {
 	 */
 	public static class ProjectToRunSupplier implements Supplier<ProjectToRun>, Closeable {
 
-		private static final Map<String, ProjectToRun> CACHE = new ConcurrentHashMap<>();
+		private static final BoundedCache<String, ProjectToRun> CACHE = BoundedCache.of("projects-to-run");
 
 		private final String projectName;
 
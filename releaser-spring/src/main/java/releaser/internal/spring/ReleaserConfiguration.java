@@ -80,9 +80,9 @@ class ReleaserConfiguration {
 	@ConditionalOnMissingBean
 	SpringReleaser springReleaser(OptionsAndPropertiesFactory optionsAndPropertiesFactory,
 			ProjectsToRunFactory projectsToRunFactory, TasksToRunFactory tasksToRunFactory, FlowRunner flowRunner,
-			ReleaserProperties properties) {
+			ReleaserProperties properties, Releaser releaser) {
 		return new DefaultSpringReleaser(properties, optionsAndPropertiesFactory, projectsToRunFactory,
-				tasksToRunFactory, flowRunner);
+				tasksToRunFactory, flowRunner, releaser);
 	}
 
 	@Bean
@@ -19,8 +19,6 @@ package releaser.internal.spring;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -29,6 +27,7 @@ import releaser.internal.Releaser;
 import releaser.internal.ReleaserProperties;
 import releaser.internal.project.ProjectVersion;
 import releaser.internal.project.Projects;
+import releaser.internal.tech.BoundedCache;
 
 import org.springframework.util.StringUtils;
 
@@ -36,7 +35,7 @@ class VersionsToBumpFactory implements Closeable {
 
 	private static final Logger log = LoggerFactory.getLogger(VersionsToBumpFactory.class);
 
-	private static final Map<File, ProjectsFromBom> CACHE = new ConcurrentHashMap<>();
+	private static final BoundedCache<File, ProjectsFromBom> CACHE = BoundedCache.of("versions-to-bump");
 
 	private final Releaser releaser;
 
@@ -83,7 +82,7 @@ class VersionsToBumpFactory implements Closeable {
 	}
 
 	private ProjectsFromBom cachedProjectsFromBom(ProjectVersion versionFromBom, Projects projectsToUpdate) {
-		return new ProjectsFromBom(projectsToUpdate, versionFromBom);
+		return new ProjectsFromBom(projectsToUpdate.snapshot(), versionFromBom);
 	}
 
 	ProjectVersion assertNoSnapshotsForANonSnapshotProject(File project, Projects projectsToUpdate) {